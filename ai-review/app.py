@@ -37,6 +37,13 @@ MAX_LEN = 80
 class ReviewRequest(BaseModel):
     reviews: list[str]
 
+class ProductReviews(BaseModel):
+    product_id: int
+    reviews: list[str]
+
+class BatchReviewRequest(BaseModel):
+    products: list[ProductReviews]
+
 # ==============================
 # 전처리 함수
 # ==============================
@@ -49,35 +56,53 @@ def preprocess(text):
     pad = pad_sequences(seq, maxlen=MAX_LEN)
     return pad
 
-# ==============================
-# 감정 분석 API
-# ==============================
-@app.post("/analyze")
-def analyze(request: ReviewRequest):
-    reviews = request.reviews
-
-    pos = 0
-    neg = 0
-
-    for r in reviews:
-        x = preprocess(r)
-        score = float(model.predict(x)[0])
-
-        if score > 0.5:
-            pos += 1
-        else:
-            neg += 1
+# 여러 리뷰를 한 번의 model.predict로 추론 (리뷰마다 predict를 호출하면 호출 오버헤드가 반복됨)
+def predict_scores(texts):
+    if not texts:
+        return []
+    x = np.vstack([preprocess(t) for t in texts])
+    return [float(s) for s in model.predict(x, batch_size=256, verbose=0).reshape(-1)]
 
+def summarize(scores):
+    pos = sum(1 for s in scores if s > 0.5)
+    neg = len(scores) - pos
     total = pos + neg
 
     return {
         "total_reviews": total,
-        "positive_percent": round(pos / total * 100, 2),
-        "negative_percent": round(neg / total * 100, 2),
+        "positive_percent": round(pos / total * 100, 2) if total else 0.0,
+        "negative_percent": round(neg / total * 100, 2) if total else 0.0,
         "positive_count": pos,
         "negative_count": neg
     }
 
+# ==============================
+# 감정 분석 API
+# ==============================
+@app.post("/analyze")
+def analyze(request: ReviewRequest):
+    return summarize(predict_scores(request.reviews))
+
+# 여러 상품 리뷰를 한 요청으로 분석 (모든 리뷰를 모아 한 번에 추론 후 상품별로 나눔, 리뷰별 판정 포함)
+@app.post("/analyze/batch")
+def analyze_batch(request: BatchReviewRequest):
+    texts = [r for p in request.products for r in p.reviews]
+    scores = predict_scores(texts)
+
+    results = []
+    offset = 0
+    for p in request.products:
+        product_scores = scores[offset:offset + len(p.reviews)]
+        offset += len(p.reviews)
+        results.append({
+            "product_id": p.product_id,
+            **summarize(product_scores),
+            # 리뷰별 판정 (요청 reviews와 같은 순서) -> 백엔드가 리뷰 단위로 저장해 다음부터 새 리뷰만 분석
+            "sentiments": ["POSITIVE" if s > 0.5 else "NEGATIVE" for s in product_scores]
+        })
+
+    return {"results": results}
+
 # ==============================
 # 서버 상태 체크
 # ==============================
@@ -5,6 +5,7 @@ import com.hyodream.backend.auth.dto.SignupRequestDto;
 import com.hyodream.backend.auth.service.AuthService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -50,15 +51,22 @@ public class AuthController {
                - **Access Token:** 유효기간 30분. API 접근 권한 인증용.
                - **Refresh Token:** 유효기간 7일. Redis에 저장되어 Access Token 재발급 시 사용.
             3. **응답:** 생성된 Access Token을 JSON 형태로 반환합니다.
+
+            **[비로그인 관심사 이어받기]**
+            - `X-Session-Id` 헤더를 함께 보내면, 비로그인 상태에서 쌓인 실시간 관심사(`interest:user:{sessionId}`)를
+              유저 프로필(`interest:user:{username}`)에 **원자적으로 합산(시간 감쇠 반영)** 하고 세션 키는 삭제합니다.
+            - 로그인 직후 첫 추천/목록 화면부터 개인화가 적용됩니다.
             """)
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "로그인 성공 (Access Token 반환)"),
             @ApiResponse(responseCode = "401", description = "아이디 또는 비밀번호 불일치")
     })
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@RequestBody LoginRequestDto dto) {
+    public ResponseEntity<Map<String, String>> login(
+            @RequestBody LoginRequestDto dto,
+            @Parameter(description = "비로그인 유저 세션 ID (관심사 병합용)") @RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
         // 서비스에게 로그인 시키고 Access Token 받아옴
-        String accessToken = authService.login(dto.getUsername(), dto.getPassword());
+        String accessToken = authService.login(dto.getUsername(), dto.getPassword(), sessionId);
 
         // JSON 형태로 응답
         // { "accessToken": "eyJh..." }
@@ -2,11 +2,13 @@ package com.hyodream.backend.auth.service;
 
 import com.hyodream.backend.auth.dto.SignupRequestDto;
 import com.hyodream.backend.global.util.JwtUtil;
+import com.hyodream.backend.product.service.InterestService;
 import com.hyodream.backend.user.domain.Address;
 import com.hyodream.backend.user.domain.User;
 import com.hyodream.backend.user.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -23,6 +26,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final StringRedisTemplate redisTemplate;
+    private final InterestService interestService;
 
     @Transactional
     public void signup(SignupRequestDto dto) {
@@ -52,7 +56,7 @@ public class AuthService {
 
     // 로그인 메서드 추가
     @Transactional
-    public String login(String username, String password) {
+    public String login(String username, String password, String sessionId) {
         // 아이디 검사
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("가입되지 않은 아이디입니다."));
@@ -74,9 +78,31 @@ public class AuthService {
                 7,
                 TimeUnit.DAYS);
 
+        mergeSessionInterests(sessionId, user.getUsername());
+
         return accessToken; // 일단 Access Token만 반환 (나중엔 DTO로 반환 추천)
     }
 
+    // 비로그인 상태에서 쌓인 실시간 관심사를 유저 프로필로 이어받음 (실패해도 로그인은 진행)
+    private void mergeSessionInterests(String sessionId, String username) {
+        if (sessionId == null || sessionId.isBlank() || sessionId.equals(username)) {
+            return;
+        }
+        // 세션 ID와 아이디는 같은 키 공간을 쓰므로, 다른 회원의 아이디를 세션 ID로 보내 프로필을 가져가는 것 방지
+        if (userRepository.existsByUsername(sessionId)) {
+            log.warn("Session interest merge skipped: session id collides with a username");
+            return;
+        }
+        try {
+            long merged = interestService.mergeSessionIntoUser(sessionId, username);
+            if (merged > 0) {
+                log.info("🔗 Merged {} session interests into user '{}'", merged, username);
+            }
+        } catch (Exception e) {
+            log.error("⚠️ Session interest merge failed: {}", e.getMessage());
+        }
+    }
+
     // 로그아웃 (Access Token을 블랙리스트에 추가)
     public void logout(String accessToken) {
         // 토큰 유효시간 계산 (남은 시간만큼만 블랙리스트에 저장)
@@ -1,5 +1,7 @@
 package com.hyodream.backend.global.client.review;
 
+import com.hyodream.backend.global.client.review.dto.BatchReviewAnalysisRequestDto;
+import com.hyodream.backend.global.client.review.dto.BatchReviewAnalysisResponseDto;
 import com.hyodream.backend.global.client.review.dto.ReviewAnalysisRequestDto;
 import com.hyodream.backend.global.client.review.dto.ReviewAnalysisResponseDto;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -11,4 +13,8 @@ public interface AiReviewClient {
 
     @PostMapping("/analyze")
     ReviewAnalysisResponseDto analyzeReviews(@RequestBody ReviewAnalysisRequestDto request);
+
+    // 여러 상품 일괄 분석 (모델 추론 1회, HTTP 왕복 1회)
+    @PostMapping("/analyze/batch")
+    BatchReviewAnalysisResponseDto analyzeReviewsBatch(@RequestBody BatchReviewAnalysisRequestDto request);
 }
@@ -0,0 +1,26 @@
+package com.hyodream.backend.global.client.review.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 여러 상품 리뷰 일괄 분석 요청 (POST /analyze/batch)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReviewAnalysisRequestDto {
+    private List<ProductReviews> products;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductReviews {
+        @JsonProperty("product_id")
+        private Long productId;
+
+        private List<String> reviews;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hyodream.backend.global.client.review.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+// 상품별 분석 결과 (단건 분석 응답 필드 + product_id)
+@Data
+public class BatchReviewAnalysisResponseDto {
+    private List<ProductResult> results;
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class ProductResult extends ReviewAnalysisResponseDto {
+        @JsonProperty("product_id")
+        private Long productId;
+
+        // 리뷰별 판정 (POSITIVE/NEGATIVE, 요청 reviews와 같은 순서)
+        private List<String> sentiments;
+    }
+}
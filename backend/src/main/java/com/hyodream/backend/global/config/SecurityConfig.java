@@ -50,6 +50,9 @@ public class SecurityConfig {
                                 "/v3/api-docs/**")
                         .permitAll()
 
+                        // 관리자 API (재고 변경, 전체 매출 조회 등): security.admin-usernames에 등록된 회원만
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -1,5 +1,6 @@
 package com.hyodream.backend.global.error;
 
+import com.hyodream.backend.global.idempotency.IdempotencyInProgressException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,6 +19,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    // 같은 Idempotency-Key의 첫 요청이 아직 처리 중 -> 409 Conflict (클라이언트는 잠시 후 같은 키로 재시도)
+    @ExceptionHandler(IdempotencyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyInProgress(IdempotencyInProgressException e) {
+        ErrorResponse response = new ErrorResponse(409, e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     // 2. 그 외 알 수 없는 모든 에러 (Exception) 처리
     // 예: NullPointerException, DB 연결 실패 등 예상치 못한 에러
     @ExceptionHandler(Exception.class)
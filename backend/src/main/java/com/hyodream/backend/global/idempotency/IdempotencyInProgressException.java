@@ -0,0 +1,11 @@
+package com.hyodream.backend.global.idempotency;
+
+// 같은 Idempotency-Key의 첫 요청이 아직 처리 중일 때 (409 Conflict)
+public class IdempotencyInProgressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyInProgressException() {
+        super("이전 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,142 @@
+package com.hyodream.backend.global.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 기반 중복 요청 방지 (주문/장바구니 결제)
+ * - idem:{scope}:{username}:{key} (Hash) status(IN_PROGRESS|COMPLETED), fp(요청 본문 해시), body(완료된 응답 JSON)
+ * - 첫 요청이 Lua로 원자적으로 키를 선점 -> 처리 후 응답을 저장, 재시도는 저장된 응답을 그대로 반환 (MySQL 접근 없음)
+ * - 처리 중 재시도는 409, 같은 키로 다른 본문을 보내면 400
+ * - 처리 실패 시 키를 지워 클라이언트가 같은 키로 다시 시도할 수 있게 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final String KEY_PREFIX = "idem:";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final String COMPLETED = "COMPLETED";
+
+    // KEYS[1] = 멱등 키 / ARGV[1] = 요청 본문 해시, ARGV[2] = 처리 중 TTL(초)
+    // 키가 없으면 IN_PROGRESS로 선점하고 빈 배열, 있으면 [status, fp, body] 반환
+    private static final RedisScript<List<Object>> CLAIM_SCRIPT = listScript("""
+            local existing = redis.call('HMGET', KEYS[1], 'status', 'fp', 'body')
+            if existing[1] then
+                return existing
+            end
+            redis.call('HSET', KEYS[1], 'status', 'IN_PROGRESS', 'fp', ARGV[1])
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[2]))
+            return {}
+            """);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 처리 중 상태 유지 시간 (서버가 처리 도중 죽은 경우 이 시간이 지나면 재시도 가능)
+    @Value("${idempotency.in-progress-ttl-seconds:60}")
+    private long inProgressTtlSeconds;
+
+    // 완료된 응답 보관 시간
+    @Value("${idempotency.completed-ttl-hours:24}")
+    private long completedTtlHours;
+
+    /**
+     * key가 없으면 action을 그대로 실행 (헤더는 선택 사항)
+     * @param scope    엔드포인트 구분 (order, checkout ...)
+     * @param request  중복 판정에 쓸 요청 본문 (없으면 null)
+     */
+    public <T> T execute(String scope, String username, String key, Object request,
+            Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String redisKey = KEY_PREFIX + scope + ":" + username + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        List<Object> existing = redisTemplate.execute(CLAIM_SCRIPT, List.of(redisKey),
+                fingerprint, String.valueOf(inProgressTtlSeconds));
+        if (existing != null && !existing.isEmpty()) {
+            return replay(existing, fingerprint, responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            redisTemplate.delete(redisKey); // 실패한 요청은 같은 키로 재시도 가능
+            throw e;
+        }
+
+        try {
+            redisTemplate.opsForHash().putAll(redisKey, Map.of(
+                    "status", COMPLETED,
+                    "body", objectMapper.writeValueAsString(response)));
+            redisTemplate.expire(redisKey, Duration.ofHours(completedTtlHours));
+        } catch (Exception e) {
+            // 처리는 이미 끝났으므로 응답은 정상 반환 (처리 중 TTL이 지나기 전까지는 409로 중복 차단)
+            log.error("⚠️ Idempotency result save failed ({}): {}", redisKey, e.getMessage());
+        }
+        return response;
+    }
+
+    private <T> T replay(List<?> existing, String fingerprint, Class<T> responseType) {
+        String status = (String) existing.get(0);
+        String storedFingerprint = (String) existing.get(1);
+        String body = existing.size() > 2 ? (String) existing.get(2) : null;
+
+        if (!fingerprint.equals(storedFingerprint)) {
+            throw new RuntimeException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+        }
+        if (!COMPLETED.equals(status) || body == null) {
+            throw new IdempotencyInProgressException();
+        }
+        try {
+            log.info("🔁 Idempotent replay: returning stored response");
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    // Lua 배열 결과용 스크립트 (List.class를 List<Object>로 쓰기 위한 캐스트는 여기서만)
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<Object>> listScript(String script) {
+        return RedisScript.of(script, (Class<List<Object>>) (Class<?>) List.class);
+    }
+
+    // 요청 본문 JSON의 SHA-256
+    private String fingerprint(Object request) {
+        if (request == null) {
+            return "";
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 본문 해시 계산 실패", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hyodream.backend.global.outbox;
+
+import java.time.Duration;
+
+// 반영과 처리 완료 표시를 한 번에 기록하는 핸들러 (판매량/함께 구매 수처럼 멱등이 아닌 증감 반영용)
+// 같은 Lua 스크립트 안에서 완료 표시를 SET NX로 먼저 잡고, 잡았을 때만 반영해야 함
+// -> 반영 직후 서버가 죽어도 완료 표시가 함께 남으므로 재전달 시 이중 반영되지 않음
+public interface AtomicDomainEventHandler extends DomainEventHandler {
+
+    // @return false면 이미 처리된 이벤트 (아무것도 반영하지 않음)
+    boolean handle(DomainEvent event, String doneKey, Duration doneTtl) throws Exception;
+
+    // 완료 표시 없이 반영하면 재전달 시 이중 반영되므로 DomainEventConsumer는 위 메서드만 호출
+    @Override
+    default void handle(DomainEvent event) {
+        throw new UnsupportedOperationException(name() + " 핸들러는 완료 표시 키와 함께 호출해야 합니다.");
+    }
+}
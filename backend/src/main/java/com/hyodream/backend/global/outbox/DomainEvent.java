@@ -0,0 +1,5 @@
+package com.hyodream.backend.global.outbox;
+
+// 스트림에서 읽은 도메인 이벤트 (eventId = outbox_events.id, 중복 처리 방지 키)
+public record DomainEvent(String eventId, DomainEventType type, Long aggregateId, String payload) {
+}
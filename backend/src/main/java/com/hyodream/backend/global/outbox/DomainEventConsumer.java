@@ -0,0 +1,282 @@
+package com.hyodream.backend.global.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * domain-event-stream 소비자 (Consumer Group 기반, 모든 노드가 같은 그룹에 참여)
+ * - 이벤트마다 해당 종류를 처리하는 DomainEventHandler들을 순서대로 호출
+ * - 핸들러별 처리 완료 표시(domain-event:done:{eventId}:{handler})로 재전달/중복 발행 시 이중 반영 방지
+ *   (AtomicDomainEventHandler는 반영과 완료 표시를 함께 기록, 그 외 핸들러는 성공 후 표시하므로 멱등이어야 함)
+ * - 모든 핸들러가 성공한 이벤트만 ACK -> 실패한 이벤트는 pending으로 남았다가 회수(XCLAIM)되어 재시도
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DomainEventConsumer {
+
+    private static final String DONE_KEY_PREFIX = "domain-event:done:";
+    private static final Duration DONE_TTL = Duration.ofDays(1);
+    private static final int RECLAIM_SCAN_PAGES = 10;
+
+    private final StringRedisTemplate redisTemplate;
+    private final List<DomainEventHandler> handlers;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.stream.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.stream.poll-timeout-ms:200}")
+    private long pollTimeoutMs;
+
+    @Value("${outbox.stream.consumer-group:domain-event-handlers}")
+    private String consumerGroup;
+
+    @Value("${outbox.stream.consumer-name:${HOSTNAME:}}")
+    private String consumerName;
+
+    @Value("${outbox.stream.reclaim-interval-ms:30000}")
+    private long reclaimIntervalMs;
+
+    @Value("${outbox.stream.reclaim-min-idle-ms:60000}")
+    private long reclaimMinIdleMs;
+
+    @Value("${outbox.stream.max-deliveries:10}")
+    private long maxDeliveries;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "domain-event-consumer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    private Counter handledCounter;
+    private Counter failedCounter;
+    private Counter deadLetterCounter;
+
+    @PostConstruct
+    public void start() {
+        if (consumerName == null || consumerName.isBlank()) {
+            consumerName = "backend-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        handledCounter = Counter.builder("domain.event.consumer.events")
+                .description("모든 핸들러 처리가 끝나 ACK된 도메인 이벤트 수")
+                .tag("result", "handled")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("domain.event.consumer.events")
+                .description("핸들러 실패로 재시도 대기 중인 도메인 이벤트 수")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        deadLetterCounter = Counter.builder("domain.event.consumer.dead.letters")
+                .description("최대 전달 횟수를 넘겨 버려진 도메인 이벤트 수")
+                .register(meterRegistry);
+
+        running = true;
+        executor.submit(this::pollLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(pollTimeoutMs * 10, TimeUnit.MILLISECONDS);
+    }
+
+    private void pollLoop() {
+        ensureGroup();
+        log.info("📡 Domain event consumer started (group: {}, consumer: {}, handlers: {})",
+                consumerGroup, consumerName, handlers.stream().map(DomainEventHandler::name).toList());
+
+        boolean drainOwnPending = true;
+        long nextReclaimAt = System.currentTimeMillis() + reclaimIntervalMs;
+
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextReclaimAt) {
+                    reclaimIdlePending();
+                    nextReclaimAt = System.currentTimeMillis() + reclaimIntervalMs;
+                }
+
+                ReadOffset offset = drainOwnPending ? ReadOffset.from("0") : ReadOffset.lastConsumed();
+                // 단일 스트림 읽기지만 API가 제네릭 varargs라 경고 발생 -> 이 선언으로만 한정
+                @SuppressWarnings("unchecked")
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                        Consumer.from(consumerGroup, consumerName),
+                        StreamReadOptions.empty().count(batchSize).block(Duration.ofMillis(pollTimeoutMs)),
+                        StreamOffset.create(OutboxRelay.STREAM_KEY, offset));
+
+                if (records == null || records.isEmpty()) {
+                    drainOwnPending = false;
+                    continue;
+                }
+                processBatch(records);
+            } catch (Exception e) {
+                log.error("⚠️ Domain event poll error: {}", e.getMessage());
+                if (e.getMessage() != null && e.getMessage().contains("NOGROUP")) {
+                    ensureGroup();
+                }
+                sleepQuietly(1000);
+            }
+        }
+    }
+
+    private void ensureGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    OutboxRelay.STREAM_KEY.getBytes(StandardCharsets.UTF_8), consumerGroup, ReadOffset.from("0"), true));
+            log.info("🆕 Created consumer group '{}' on {}", consumerGroup, OutboxRelay.STREAM_KEY);
+        } catch (Exception e) {
+            log.debug("Consumer group '{}' already exists: {}", consumerGroup, e.getMessage());
+        }
+    }
+
+    // 일정 시간 이상 ACK되지 않은 이벤트(죽은 노드 몫 또는 핸들러 실패분)를 회수하여 재시도
+    // pending 목록을 ID 순으로 페이지 단위로 훑음 (StreamConsumer와 같은 방식, 한 번에 batchSize * RECLAIM_SCAN_PAGES까지)
+    private void reclaimIdlePending() {
+        Duration minIdle = Duration.ofMillis(reclaimMinIdleMs);
+        List<RecordId> reclaimIds = new ArrayList<>();
+        List<RecordId> deadIds = new ArrayList<>();
+
+        String lastId = null;
+        for (int page = 0; page < RECLAIM_SCAN_PAGES && reclaimIds.size() < batchSize; page++) {
+            // 이전 페이지의 마지막 ID부터 다시 조회 (포함 범위라 첫 항목은 건너뜀)
+            Range<String> range = lastId == null
+                    ? Range.unbounded()
+                    : Range.rightUnbounded(Range.Bound.inclusive(lastId));
+            PendingMessages pending = redisTemplate.opsForStream()
+                    .pending(OutboxRelay.STREAM_KEY, consumerGroup, range, batchSize + (lastId == null ? 0 : 1));
+            if (pending == null || pending.isEmpty()) {
+                break;
+            }
+
+            int fresh = 0;
+            for (PendingMessage message : pending) {
+                String id = message.getIdAsString();
+                if (id.equals(lastId)) {
+                    continue;
+                }
+                fresh++;
+                lastId = id;
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                    deadIds.add(message.getId());
+                } else if (reclaimIds.size() < batchSize) {
+                    reclaimIds.add(message.getId());
+                }
+            }
+            if (fresh < batchSize) {
+                break; // 마지막 페이지
+            }
+        }
+
+        if (!deadIds.isEmpty()) {
+            redisTemplate.opsForStream().acknowledge(OutboxRelay.STREAM_KEY, consumerGroup, deadIds.toArray(RecordId[]::new));
+            deadLetterCounter.increment(deadIds.size());
+            log.warn("☠️ Dropped {} domain events exceeding {} deliveries: {}", deadIds.size(), maxDeliveries, deadIds);
+        }
+
+        if (!reclaimIds.isEmpty()) {
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    OutboxRelay.STREAM_KEY, consumerGroup, consumerName, minIdle, reclaimIds.toArray(RecordId[]::new));
+            if (claimed != null && !claimed.isEmpty()) {
+                log.info("♻️ Reclaimed {} pending domain events", claimed.size());
+                processBatch(claimed);
+            }
+        }
+    }
+
+    private void processBatch(List<MapRecord<String, Object, Object>> records) {
+        List<RecordId> done = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            if (process(record)) {
+                done.add(record.getId());
+            }
+        }
+        if (!done.isEmpty()) {
+            redisTemplate.opsForStream().acknowledge(OutboxRelay.STREAM_KEY, consumerGroup, done.toArray(RecordId[]::new));
+            handledCounter.increment(done.size());
+        }
+    }
+
+    // 모든 핸들러가 성공(또는 이미 처리)했으면 true
+    private boolean process(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        DomainEvent event;
+        try {
+            event = new DomainEvent(
+                    String.valueOf(fields.get("eventId")),
+                    DomainEventType.valueOf(String.valueOf(fields.get("type"))),
+                    Long.valueOf(String.valueOf(fields.get("aggregateId"))),
+                    String.valueOf(fields.get("payload")));
+        } catch (Exception e) {
+            log.warn("알 수 없는 도메인 이벤트 형식, 건너뜀: {}", fields);
+            return true;
+        }
+
+        boolean success = true;
+        for (DomainEventHandler handler : handlers) {
+            if (!handler.supports(event.type())) {
+                continue;
+            }
+            String doneKey = DONE_KEY_PREFIX + event.eventId() + ":" + handler.name();
+            try {
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(doneKey))) {
+                    continue;
+                }
+                if (handler instanceof AtomicDomainEventHandler atomic) {
+                    atomic.handle(event, doneKey, DONE_TTL);
+                    continue;
+                }
+                handler.handle(event);
+                redisTemplate.opsForValue().set(doneKey, "1", DONE_TTL);
+            } catch (Exception e) {
+                success = false;
+                log.error("⚠️ Domain event handler '{}' failed for {} #{}: {}",
+                        handler.name(), event.type(), event.eventId(), e.getMessage());
+            }
+        }
+        if (!success) {
+            failedCounter.increment();
+        }
+        return success;
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.hyodream.backend.global.outbox;
+
+// 도메인 이벤트 비동기 처리기 (DomainEventConsumer가 이벤트 종류별로 호출)
+// 핸들러별로 처리 완료 표시를 남기므로, 재전달 시 이미 성공한 핸들러는 다시 실행되지 않음
+// 단, 완료 표시는 handle 성공 후에 남기므로 그 사이 장애 시 다시 실행될 수 있음 (at-least-once) -> 반영이 멱등이어야 함
+// 멱등이 아닌 증감 반영은 AtomicDomainEventHandler로 구현
+public interface DomainEventHandler {
+
+    // 처리 완료 표시 키에 쓰이는 이름 (핸들러마다 고유)
+    String name();
+
+    boolean supports(DomainEventType type);
+
+    void handle(DomainEvent event) throws Exception;
+}
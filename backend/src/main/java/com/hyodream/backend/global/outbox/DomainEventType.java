@@ -0,0 +1,10 @@
+package com.hyodream.backend.global.outbox;
+
+// 아웃박스로 발행되는 도메인 이벤트 종류
+public enum DomainEventType {
+    ORDER_PLACED, // 주문 완료
+    ORDER_CANCELED, // 주문 취소
+    REVIEW_CREATED, // 리뷰 작성
+    REVIEW_UPDATED, // 리뷰 수정
+    REVIEW_DELETED // 리뷰 삭제
+}
@@ -0,0 +1,44 @@
+package com.hyodream.backend.global.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 트랜잭션 아웃박스: 도메인 변경과 같은 트랜잭션에서 INSERT -> OutboxRelay가 Redis Stream으로 발행
+// published_at이 null인 행이 발행 대기 중인 이벤트
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_unpublished", columnList = "published_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private DomainEventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId; // 주문 ID, 리뷰 ID 등
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload; // JSON
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(DomainEventType eventType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
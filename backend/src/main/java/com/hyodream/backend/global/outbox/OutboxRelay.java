@@ -0,0 +1,132 @@
+package com.hyodream.backend.global.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 아웃박스 릴레이: 발행 대기 이벤트를 배치로 읽어 Redis Stream(domain-event-stream)에 파이프라인 XADD
+ * - SELECT ... FOR UPDATE SKIP LOCKED -> 여러 노드가 동시에 돌아도 같은 이벤트를 나눠 갖지 않음
+ * - XADD 성공 후 published_at 기록, 커밋 실패 시 다음 주기에 다시 발행될 수 있음 (소비자가 eventId로 중복 제거)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    public static final String STREAM_KEY = "domain-event-stream";
+
+    private static final String SELECT_PENDING_SQL = """
+            SELECT id, event_type, aggregate_id, payload FROM outbox_events
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String PURGE_SQL = "DELETE FROM outbox_events WHERE published_at < ? LIMIT 5000";
+
+    // 한 주기에 연속으로 처리할 최대 배치 수 (밀린 이벤트가 많을 때)
+    private static final int MAX_ROUNDS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.stream.max-length:100000}")
+    private long streamMaxLength;
+
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    private Counter publishedCounter;
+
+    @PostConstruct
+    public void init() {
+        publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Redis Stream으로 발행된 도메인 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            for (int round = 0; round < MAX_ROUNDS; round++) {
+                Integer published = transactionTemplate.execute(status -> publishBatch());
+                if (published == null || published < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("⚠️ Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    private int publishBatch() {
+        List<Object[]> rows = jdbcTemplate.query(SELECT_PENDING_SQL,
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4) },
+                batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        XAddOptions options = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (Object[] row : rows) {
+                Map<String, String> fields = Map.of(
+                        "eventId", String.valueOf(row[0]),
+                        "type", (String) row[1],
+                        "aggregateId", String.valueOf(row[2]),
+                        "payload", (String) row[3]);
+                conn.xAdd(StreamRecords.string(fields).withStreamKey(STREAM_KEY), options);
+            }
+            return null;
+        });
+
+        List<Object> args = new ArrayList<>(rows.size() + 1);
+        args.add(LocalDateTime.now());
+        rows.forEach(row -> args.add(row[0]));
+        jdbcTemplate.update("UPDATE outbox_events SET published_at = ? WHERE id IN ("
+                + String.join(",", Collections.nCopies(rows.size(), "?")) + ")", args.toArray());
+
+        publishedCounter.increment(rows.size());
+        return rows.size();
+    }
+
+    // 매시 15분: 보관 기간이 지난 발행 완료 이벤트 정리
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgePublished() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, threshold);
+            total += deleted;
+        } while (deleted > 0);
+        if (total > 0) {
+            log.info("🧹 Purged {} published outbox events", total);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hyodream.backend.global.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 Lock-free 링 버퍼 (다중 생산자 / 다중 소비자)
+ * - 슬롯마다 시퀀스 번호를 두고 CAS로 위치를 선점하는 방식 (Dmitry Vyukov의 bounded MPMC queue)
+ * - 가득 차면 offer()가 false, 비어 있으면 poll()이 null을 반환 (블로킹 없음)
+ * - 용량은 2의 거듭제곱으로 올림
+ */
+public class MpmcRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePos = new AtomicLong();
+    private final AtomicLong dequeuePos = new AtomicLong();
+
+    public MpmcRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be >= 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long pos = enqueuePos.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                // 빈 슬롯: 위치 선점에 성공하면 값을 쓰고 소비 가능 상태로 표시
+                if (enqueuePos.compareAndSet(pos, pos + 1)) {
+                    buffer.set(index, element);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = enqueuePos.get();
+            } else if (diff < 0) {
+                return false; // 가득 참
+            } else {
+                pos = enqueuePos.get(); // 다른 생산자가 먼저 선점
+            }
+        }
+    }
+
+    public E poll() {
+        long pos = dequeuePos.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                // 채워진 슬롯: 위치 선점에 성공하면 값을 꺼내고 다음 바퀴의 생산자에게 슬롯 반환
+                if (dequeuePos.compareAndSet(pos, pos + 1)) {
+                    E element = buffer.get(index);
+                    buffer.set(index, null);
+                    sequences.set(index, pos + capacity);
+                    return element;
+                }
+                pos = dequeuePos.get();
+            } else if (diff < 0) {
+                return null; // 비어 있음
+            } else {
+                pos = dequeuePos.get(); // 다른 소비자가 먼저 선점
+            }
+        }
+    }
+
+    // 대략적인 현재 크기 (동시 수정 중에는 근사값)
+    public int size() {
+        long size = enqueuePos.get() - dequeuePos.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hyodream.backend.order.controller;
+
+import com.hyodream.backend.order.dto.DailySalesResponseDto;
+import com.hyodream.backend.order.dto.ProductSalesResponseDto;
+import com.hyodream.backend.order.service.OrderSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Admin Order API", description = "주문/매출 통계 API (운영자용, `security.admin-usernames`에 등록된 회원만 호출 가능)")
+@RestController
+@RequestMapping("/api/admin/orders")
+@RequiredArgsConstructor
+public class AdminOrderController {
+
+    private final OrderSummaryService orderSummaryService;
+
+    @Operation(summary = "일별 매출 통계", description = """
+            기간 내 날짜별 주문 수, 취소 수, 판매 수량, 매출액을 조회합니다.
+            
+            **[집계 방식]**
+            - 주문 완료/취소 이벤트로 갱신되는 요약 테이블(`order_summaries`)만 집계합니다. (주문/상품 테이블 조인 없음)
+            - 취소된 주문은 `canceledCount`에만 포함되고 수량/매출에서는 제외됩니다.
+            - 최근 주문은 이벤트 반영 지연(수 초)만큼 늦게 잡힐 수 있습니다.
+            - 주문이 없는 날짜는 결과에 포함되지 않습니다. 조회 기간은 최대 366일입니다.
+            """)
+    @GetMapping("/sales/daily")
+    public ResponseEntity<List<DailySalesResponseDto>> getDailySales(
+            @Parameter(description = "조회 시작일 (포함)", example = "2025-12-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "조회 종료일 (포함)", example = "2025-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderSummaryService.getDailySales(from, to));
+    }
+
+    @Operation(summary = "상품별 매출 순위", description = """
+            기간 내 매출액이 높은 상품 순으로 판매 수량, 매출액, 주문 수를 조회합니다.
+            
+            **[집계 방식]**
+            - 요약 테이블의 상품별 행(`order_summary_items`)만 집계하며, 상품명은 주문 당시 이름입니다. (이미 삭제된 상품도 포함)
+            - 취소된 주문은 제외됩니다. 조회 기간은 최대 366일, `limit`은 최대 100입니다.
+            """)
+    @GetMapping("/sales/products")
+    public ResponseEntity<List<ProductSalesResponseDto>> getProductSales(
+            @Parameter(description = "조회 시작일 (포함)", example = "2025-12-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "조회 종료일 (포함)", example = "2025-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "조회할 상품 수") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(orderSummaryService.getProductSales(from, to, limit));
+    }
+}
@@ -1,6 +1,8 @@
 package com.hyodream.backend.order.controller;
 
-import com.hyodream.backend.order.domain.Cart;
+import com.hyodream.backend.global.idempotency.IdempotencyService;
+import com.hyodream.backend.order.dto.CartItemResponseDto;
+import com.hyodream.backend.order.dto.OrderPlacedResponseDto;
 import com.hyodream.backend.order.dto.OrderRequestDto;
 import com.hyodream.backend.order.service.CartService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,6 +22,7 @@ import java.util.List;
 public class CartController {
 
     private final CartService cartService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "장바구니 담기", description = """
             상품을 장바구니에 추가합니다. (로그인 필수)
@@ -26,6 +30,7 @@ public class CartController {
             **[로직]**
             - 이미 장바구니에 담긴 상품이라면 수량(`count`)만 증가시킵니다.
             - 없는 상품이라면 새로 추가합니다.
+            - 장바구니는 Redis(`cart:{아이디}`)에 보관되며, 변경 내용은 몇 초 이내에 DB(`carts`)에 저장됩니다.
             """)
     @PostMapping
     public ResponseEntity<String> addCart(@RequestBody OrderRequestDto dto) {
@@ -35,17 +40,38 @@ public class CartController {
 
     @Operation(summary = "내 장바구니 조회", description = """
             현재 로그인한 사용자의 장바구니 목록 전체를 조회합니다.
+            
+            - 상품명, 현재 판매가, 이미지, 남은 재고를 함께 반환합니다. (삭제된 상품은 제외)
             """)
     @GetMapping
-    public ResponseEntity<List<Cart>> getMyCart() {
+    public ResponseEntity<List<CartItemResponseDto>> getMyCart() {
         return ResponseEntity.ok(cartService.getMyCart());
     }
 
-    @Operation(summary = "장바구니 항목 삭제", description = "장바구니 ID(`cartId`)를 이용하여 특정 항목을 삭제합니다.")
-    @DeleteMapping("/{cartId}")
+    @Operation(summary = "장바구니 결제 (전체 주문)", description = """
+            장바구니에 담긴 모든 상품을 한 번에 주문하고 결제를 요청합니다. 주문이 접수되면 주문한 상품은 장바구니에서 삭제됩니다. (주문 처리 중에 새로 담거나 수량을 바꾼 상품은 남습니다)
+            
+            - 결제는 비동기로 진행되므로 `202`와 함께 `orderId`가 반환됩니다. 결과는 `GET /api/orders/{orderId}/status`로 확인합니다.
+            
+            **[중복 결제 방지 (Idempotency-Key)]**
+            - 결제 시도마다 고유한 키를 `Idempotency-Key` 헤더로 보내면, 같은 키로 재전송해도 주문은 한 번만 생성되고 최초 응답이 그대로 반환됩니다.
+            - 최초 요청이 아직 처리 중이면 `409`를 반환합니다.
+            """)
+    @PostMapping("/checkout")
+    public ResponseEntity<OrderPlacedResponseDto> checkout(
+            @Parameter(description = "중복 결제 방지용 고유 키 (선택)") @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Authentication auth) {
+        Long orderId = idempotencyService.execute("checkout", auth.getName(), idempotencyKey, null,
+                Long.class, cartService::checkout);
+        return ResponseEntity.accepted()
+                .body(new OrderPlacedResponseDto(orderId, "주문이 접수되었습니다. 결제 결과를 확인해주세요."));
+    }
+
+    @Operation(summary = "장바구니 항목 삭제", description = "상품 ID(`productId`)를 이용하여 장바구니에서 해당 상품을 삭제합니다.")
+    @DeleteMapping("/{productId}")
     public ResponseEntity<String> deleteCart(
-            @Parameter(description = "삭제할 장바구니 항목의 ID (상품 ID 아님)") @PathVariable Long cartId) {
-        cartService.deleteCart(cartId);
+            @Parameter(description = "삭제할 상품 ID") @PathVariable Long productId) {
+        cartService.deleteCart(productId);
         return ResponseEntity.ok("삭제되었습니다.");
     }
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package com.hyodream.backend.order.controller;
 
+import com.hyodream.backend.global.idempotency.IdempotencyService;
+import com.hyodream.backend.order.dto.OrderHistoryResponseDto;
+import com.hyodream.backend.order.dto.OrderPlacedResponseDto;
 import com.hyodream.backend.order.dto.OrderRequestDto;
-import com.hyodream.backend.order.dto.OrderResponseDto;
+import com.hyodream.backend.order.dto.OrderStatusResponseDto;
+import com.hyodream.backend.order.dto.OrderSummaryPageResponseDto;
 import com.hyodream.backend.order.service.OrderService;
+import com.hyodream.backend.order.service.OrderSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name = "Order API", description = "상품 주문 및 취소 관리 API")
@@ -21,37 +29,99 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderSummaryService orderSummaryService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "주문 생성 (결제)", description = """
             상품을 주문하고 결제를 진행합니다.
             
             **[주문 프로세스]**
-            1. **재고/상태 확인:** 상품의 판매 가능 여부를 확인합니다.
+            1. **재고/상태 확인:** 상품의 판매 가능 여부를 확인합니다. 한정 수량 상품은 Redis에서 재고를 원자적으로 예약하며, 부족하면 `400`으로 즉시 거절합니다.
             2. **주문서 생성:** `orders`, `order_items` 테이블에 데이터를 생성합니다.
-            3. **판매량 집계:** 해당 상품의 `totalSales` 및 `recentSales` 카운트를 즉시 증가시킵니다.
-            4. **결제 처리:** 가상의 결제 모듈(`PaymentService`)을 호출하여 결제 승인(`DONE`) 상태를 기록합니다.
+            3. **결제 요청:** 주문은 결제 대기(`PENDING`) 상태로 접수되고, 응답은 결제를 기다리지 않고 `202`로 즉시 반환됩니다.
+            4. **비동기 결제:** 결제 워커가 결제 대행사에 승인을 요청합니다. 일시 장애는 간격을 늘려가며 자동 재시도합니다.
+               - 승인되면 주문이 `ORDER`로 바뀌고 주문 완료 이벤트가 기록됩니다.
+               - 거절되거나 재시도 한도를 넘기면 `PAYMENT_FAILED`로 바뀌고 한정 상품 재고가 반환됩니다.
+            5. **결과 확인:** 응답의 `orderId`로 `GET /api/orders/{orderId}/status`를 조회해 `completed`가 `true`가 될 때까지 확인합니다. (1초 간격 권장)
+            
+            **[중복 주문 방지 (Idempotency-Key)]**
+            - 클라이언트가 주문 시도마다 고유한 키(UUID 등)를 `Idempotency-Key` 헤더로 보내면, 네트워크 문제로 같은 키로 재전송해도 주문은 한 번만 생성됩니다.
+            - 이미 완료된 요청이면 DB를 거치지 않고 최초 응답을 그대로 반환합니다. (24시간 보관)
+            - 최초 요청이 아직 처리 중이면 `409`를 반환합니다. 같은 키로 다른 주문 내용을 보내면 `400`입니다.
             """)
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "주문 완료"),
-            @ApiResponse(responseCode = "400", description = "재고 부족 또는 잘못된 요청")
+            @ApiResponse(responseCode = "202", description = "주문 접수 (결제 진행 중)"),
+            @ApiResponse(responseCode = "400", description = "재고 부족 또는 잘못된 요청"),
+            @ApiResponse(responseCode = "409", description = "같은 Idempotency-Key의 요청이 처리 중")
     })
     @PostMapping
-    public ResponseEntity<String> createOrder(
-            @RequestBody List<OrderRequestDto> requestDtos) {
-        orderService.order(requestDtos);
-        return ResponseEntity.ok("주문이 완료되었습니다.");
+    public ResponseEntity<OrderPlacedResponseDto> createOrder(
+            @Parameter(description = "중복 주문 방지용 고유 키 (선택)") @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody List<OrderRequestDto> requestDtos,
+            Authentication auth) {
+        Long orderId = idempotencyService.execute("order", auth.getName(), idempotencyKey, requestDtos,
+                Long.class, () -> orderService.order(requestDtos));
+        return ResponseEntity.accepted()
+                .body(new OrderPlacedResponseDto(orderId, "주문이 접수되었습니다. 결제 결과를 확인해주세요."));
     }
 
     @Operation(summary = "내 주문 내역 조회", description = """
-            로그인한 사용자의 모든 주문 이력을 최신순으로 조회합니다.
+            로그인한 사용자의 주문 이력을 최신순으로 조회합니다.
+            
+            **[페이지네이션 (키셋 방식)]**
+            - 첫 페이지는 `cursorDate`, `cursorId` 없이 요청합니다.
+            - 응답의 `hasNext`가 `true`이면 `nextCursorDate`, `nextCursorId`를 그대로 전달해 다음 페이지를 조회합니다.
+            - 주문이 많아도 페이지마다 조회 비용이 일정합니다. (페이지 크기 최대 50)
             
             **[반환 정보]**
             - 주문 번호, 날짜, 상태(`ORDER`/`CANCEL`)
             - 주문 상품 목록 (상품명, 수량, 구매 당시 가격)
             """)
     @GetMapping
-    public ResponseEntity<List<OrderResponseDto>> getMyOrders() {
-        return ResponseEntity.ok(orderService.getMyOrders());
+    public ResponseEntity<OrderHistoryResponseDto> getMyOrders(
+            @Parameter(description = "이전 페이지 마지막 주문의 주문 일시 (nextCursorDate)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @Parameter(description = "이전 페이지 마지막 주문 ID (nextCursorId)") @RequestParam(required = false) Long cursorId,
+            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.getMyOrders(cursorDate, cursorId, size));
+    }
+
+    @Operation(summary = "내 주문 요약 목록 조회", description = """
+            주문 목록 화면용 요약 정보를 최신순으로 조회합니다.
+            
+            **[내 주문 내역 조회와의 차이]**
+            - 주문 완료/취소 이벤트로 미리 만들어 둔 요약 테이블(`order_summaries`)에서 한 번에 읽습니다. (주문 상품/상품 테이블 조인 없음)
+            - 주문 직후 또는 취소 직후 1~2초 정도는 반영되지 않았을 수 있습니다. 주문 상세가 필요하면 `GET /api/orders`를 사용하세요.
+            
+            **[페이지네이션 (키셋 방식)]**
+            - 첫 페이지는 `cursorDate`, `cursorId` 없이 요청하고, `hasNext`가 `true`이면 `nextCursorDate`, `nextCursorId`로 다음 페이지를 조회합니다. (페이지 크기 최대 50)
+            
+            **[반환 정보]**
+            - 주문 번호, 날짜, 상태, 제목(예: "정관장 홍삼정 외 2건"), 주문 당시 상품명 목록
+            - 상품 종류 수, 총 수량, 총 결제 금액, 취소 일시
+            """)
+    @GetMapping("/summaries")
+    public ResponseEntity<OrderSummaryPageResponseDto> getMyOrderSummaries(
+            @Parameter(description = "이전 페이지 마지막 주문의 주문 일시 (nextCursorDate)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @Parameter(description = "이전 페이지 마지막 주문 ID (nextCursorId)") @RequestParam(required = false) Long cursorId,
+            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderSummaryService.getMySummaries(cursorDate, cursorId, size));
+    }
+
+    @Operation(summary = "주문/결제 처리 상태 조회", description = """
+            주문 직후 결제가 끝났는지 확인합니다. (폴링용, 가벼운 단건 조회)
+            
+            **[주문 상태]**
+            - `PENDING`: 결제 진행 중 (재시도 대기 포함) -> 잠시 후 다시 조회
+            - `ORDER`: 결제 승인, 주문 완료
+            - `PAYMENT_FAILED`: 결제 거절 또는 재시도 한도 초과 (`payment.failureReason` 참고)
+            - `CANCEL`: 취소됨
+            
+            `completed`가 `true`이면 더 이상 상태가 바뀌지 않으므로 조회를 멈춥니다. (`CANCEL` 제외)
+            """)
+    @GetMapping("/{orderId}/status")
+    public ResponseEntity<OrderStatusResponseDto> getOrderStatus(
+            @Parameter(description = "조회할 주문 ID") @PathVariable Long orderId) {
+        return ResponseEntity.ok(orderService.getOrderStatus(orderId));
     }
 
     @Operation(summary = "주문 취소 (환불)", description = """
@@ -60,8 +130,10 @@ public class OrderController {
             **[취소 프로세스]**
             1. **권한 확인:** 본인의 주문인지 확인합니다.
             2. **상태 변경:** 주문 상태를 `CANCEL`로 변경합니다.
-            3. **데이터 복구:** 상품의 판매량(`totalSales`)을 차감하여 원상 복구합니다.
-            4. **결제 취소:** `payments` 테이블의 상태를 `CANCELED`로 변경합니다.
+               - 결제 대기(`PENDING`) 주문도 취소할 수 있습니다. 결제 워커가 승인을 반영하는 순간과 겹치면 `400`이 반환되니 잠시 후 다시 시도하세요.
+               - 결제에 실패한(`PAYMENT_FAILED`) 주문은 취소할 수 없습니다.
+            3. **데이터 복구:** 상품의 판매량(`totalSales`)을 차감하고, 한정 수량 상품은 재고를 되돌려 원상 복구합니다.
+            4. **결제 취소:** `payments` 테이블의 상태를 `CANCELED`로 변경합니다. 이미 승인된 결제는 결제 워커가 결제 대행사에 환불을 요청합니다. (일시 장애 시 자동 재시도)
             """)
     @PostMapping("/{orderId}/cancel")
     public ResponseEntity<String> cancelOrder(
@@ -10,7 +10,9 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name = "orders")
+// 주문 내역 키셋 페이지네이션 (user_id, order_date, id) 인덱스
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_user_date", columnList = "user_id, order_date, id"))
 public class Order {
 
     @Id
@@ -20,10 +22,11 @@ public class Order {
     @Column(name = "user_id", nullable = false)
     private Long userId; // 주문자 ID
 
+    @Column(name = "order_date")
     private LocalDateTime orderDate; // 주문 시간
 
     @Enumerated(EnumType.STRING)
-    private OrderStatus status; // 주문 상태 [ORDER, CANCEL]
+    private OrderStatus status; // 주문 상태 [PENDING, ORDER, PAYMENT_FAILED, CANCEL]
 
     // 주문 상품 목록 (1:N 관계)
     // CascadeType.ALL: 주문서 지우면 주문 상품들도 같이 삭제
@@ -41,7 +44,7 @@ public class Order {
         Order order = new Order();
         order.setUserId(userId);
         order.setOrderDate(LocalDateTime.now());
-        order.setStatus(OrderStatus.ORDER);
+        order.setStatus(OrderStatus.PENDING); // 결제 승인 후 ORDER로 전환
         for (OrderItem orderItem : orderItems) {
             order.addOrderItem(orderItem);
         }
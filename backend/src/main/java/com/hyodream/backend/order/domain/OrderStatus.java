@@ -1,6 +1,8 @@
 package com.hyodream.backend.order.domain;
 
 public enum OrderStatus {
-    ORDER, // 주문 완료
+    PENDING, // 결제 대기 (주문 접수 후 결제 워커가 처리 중)
+    ORDER, // 주문 완료 (결제 승인)
+    PAYMENT_FAILED, // 결제 실패 (재고 반환됨)
     CANCEL // 주문 취소
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.hyodream.backend.order.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 주문 조회 전용 모델 (CQRS Read Model)
+// 주문 완료/취소 이벤트로만 갱신 (OrderSummaryProjector), 목록/통계 조회 시 orders/order_items/products 조인 없음
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "order_summaries", indexes = {
+        @Index(name = "idx_order_summaries_user", columnList = "user_id, order_date, order_id"),
+        @Index(name = "idx_order_summaries_date", columnList = "order_date")
+})
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "item_count")
+    private int itemCount; // 상품 종류 수
+
+    @Column(name = "total_quantity")
+    private int totalQuantity; // 총 수량
+
+    @Column(name = "total_amount")
+    private long totalAmount; // 총 결제 금액
+
+    private String title; // 목록 표시용 (예: "정관장 홍삼정 외 2건")
+
+    @Column(name = "product_names", columnDefinition = "TEXT")
+    private String productNames; // 주문 당시 상품명 목록 (", " 구분)
+
+    @Column(name = "canceled_at")
+    private LocalDateTime canceledAt;
+}
@@ -0,0 +1,41 @@
+package com.hyodream.backend.order.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 주문 조회 전용 모델의 상품별 행 (상품별 매출 통계용, 주문일/상태/상품명 역정규화)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "order_summary_items",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "order_id", "product_id" }),
+        indexes = @Index(name = "idx_order_summary_items_date", columnList = "order_date, product_id"))
+public class OrderSummaryItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_name")
+    private String productName; // 주문 당시 상품명
+
+    private int count;
+
+    private long amount; // 단가 * 수량
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+}
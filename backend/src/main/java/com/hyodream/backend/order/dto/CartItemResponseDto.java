@@ -0,0 +1,27 @@
+package com.hyodream.backend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CartItemResponseDto {
+    @Schema(description = "상품 ID", example = "10")
+    private Long productId;
+
+    @Schema(description = "상품명", example = "정관장 홍삼정")
+    private String productName;
+
+    @Schema(description = "현재 판매가", example = "98000")
+    private int price;
+
+    @Schema(description = "상품 이미지 URL")
+    private String imageUrl;
+
+    @Schema(description = "담은 수량", example = "2")
+    private int count;
+
+    @Schema(description = "남은 재고 (null이면 무제한)", example = "37")
+    private Integer stockQuantity;
+}
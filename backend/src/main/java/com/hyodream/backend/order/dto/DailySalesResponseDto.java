@@ -0,0 +1,25 @@
+package com.hyodream.backend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class DailySalesResponseDto {
+    @Schema(description = "주문일", example = "2025-12-10")
+    private LocalDate date;
+
+    @Schema(description = "주문 수 (취소 제외)", example = "42")
+    private long orderCount;
+
+    @Schema(description = "취소된 주문 수", example = "3")
+    private long canceledCount;
+
+    @Schema(description = "판매 수량 (취소 제외)", example = "57")
+    private long quantity;
+
+    @Schema(description = "매출액 (취소 제외)", example = "1830000")
+    private long revenue;
+}
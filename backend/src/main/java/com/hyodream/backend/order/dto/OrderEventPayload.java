@@ -0,0 +1,29 @@
+package com.hyodream.backend.order.dto;
+
+import com.hyodream.backend.order.domain.Order;
+import com.hyodream.backend.order.domain.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 주문 완료/취소 도메인 이벤트 본문 (아웃박스 JSON)
+public record OrderEventPayload(Long orderId, Long userId, String username, LocalDateTime orderDate, List<Item> items) {
+
+    // orderPrice: 주문 당시 단가
+    public record Item(Long productId, int count, int orderPrice) {
+    }
+
+    public static OrderEventPayload of(Order order, String username, List<OrderItem> orderItems) {
+        List<Item> items = orderItems.stream()
+                .map(item -> new Item(item.getProductId(), item.getCount(), item.getOrderPrice()))
+                .toList();
+        return new OrderEventPayload(order.getId(), order.getUserId(), username, order.getOrderDate(), items);
+    }
+
+    // 상품ID -> 수량 합계
+    public Map<Long, Integer> countsByProduct() {
+        return items.stream().collect(Collectors.toMap(Item::productId, Item::count, Integer::sum));
+    }
+}
@@ -0,0 +1,23 @@
+package com.hyodream.backend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderHistoryResponseDto {
+    @Schema(description = "주문 목록 (최신순)")
+    private List<OrderResponseDto> orders;
+
+    @Schema(description = "다음 페이지 여부", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "다음 페이지 요청 시 cursorDate로 전달할 값 (마지막 주문의 주문 일시)", example = "2025-12-10T14:30:00")
+    private LocalDateTime nextCursorDate;
+
+    @Schema(description = "다음 페이지 요청 시 cursorId로 전달할 값 (마지막 주문 ID)", example = "1001")
+    private Long nextCursorId;
+}
@@ -24,4 +24,11 @@ public class OrderItemResponseDto {
         this.count = orderItem.getCount();
         this.orderPrice = orderItem.getOrderPrice();
     }
+
+    public OrderItemResponseDto(Long productId, String productName, int count, int orderPrice) {
+        this.productId = productId;
+        this.productName = productName;
+        this.count = count;
+        this.orderPrice = orderPrice;
+    }
 }
\ No newline at end of file
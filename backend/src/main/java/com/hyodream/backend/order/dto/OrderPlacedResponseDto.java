@@ -0,0 +1,15 @@
+package com.hyodream.backend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderPlacedResponseDto {
+    @Schema(description = "주문 번호 (ID), 결제 결과는 GET /api/orders/{orderId}/status로 확인", example = "1001")
+    private Long orderId;
+
+    @Schema(description = "안내 메시지", example = "주문이 접수되었습니다. 결제 결과를 확인해주세요.")
+    private String message;
+}
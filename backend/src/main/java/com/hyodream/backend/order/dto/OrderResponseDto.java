@@ -27,4 +27,12 @@ public class OrderResponseDto {
         this.status = order.getStatus();
         this.orderItems = orderItems;
     }
+
+    public OrderResponseDto(Long orderId, LocalDateTime orderDate, OrderStatus status,
+            List<OrderItemResponseDto> orderItems) {
+        this.orderId = orderId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.orderItems = orderItems;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.hyodream.backend.order.dto;
+
+import com.hyodream.backend.order.domain.OrderStatus;
+import com.hyodream.backend.payment.dto.PaymentResponseDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+@Getter
+public class OrderStatusResponseDto {
+    @Schema(description = "주문 번호 (ID)", example = "1001")
+    private Long orderId;
+
+    @Schema(description = "주문 상태 (PENDING: 결제 대기, ORDER: 주문 완료, PAYMENT_FAILED: 결제 실패, CANCEL: 취소)", example = "ORDER")
+    private OrderStatus status;
+
+    @Schema(description = "결제 처리가 끝났는지 여부 (false면 잠시 후 다시 조회)", example = "true")
+    private boolean completed;
+
+    @Schema(description = "결제 정보")
+    private PaymentResponseDto payment;
+
+    public OrderStatusResponseDto(Long orderId, OrderStatus status, PaymentResponseDto payment) {
+        this.orderId = orderId;
+        this.status = status;
+        this.completed = status != OrderStatus.PENDING;
+        this.payment = payment;
+    }
+}
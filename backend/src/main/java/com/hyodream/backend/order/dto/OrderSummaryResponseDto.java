@@ -0,0 +1,49 @@
+package com.hyodream.backend.order.dto;
+
+import com.hyodream.backend.order.domain.OrderStatus;
+import com.hyodream.backend.order.domain.OrderSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+@Getter
+public class OrderSummaryResponseDto {
+    @Schema(description = "주문 번호 (ID)", example = "1001")
+    private Long orderId;
+
+    @Schema(description = "주문 일시", example = "2025-12-10T14:30:00")
+    private LocalDateTime orderDate;
+
+    @Schema(description = "주문 상태", example = "ORDER")
+    private OrderStatus status;
+
+    @Schema(description = "목록 표시용 제목", example = "정관장 홍삼정 외 2건")
+    private String title;
+
+    @Schema(description = "주문 상품명 목록 (주문 당시 이름, ', ' 구분)", example = "정관장 홍삼정, 종근당 관절 연골, 뉴트리원 루테인")
+    private String productNames;
+
+    @Schema(description = "상품 종류 수", example = "3")
+    private int itemCount;
+
+    @Schema(description = "총 수량", example = "4")
+    private int totalQuantity;
+
+    @Schema(description = "총 결제 금액", example = "125000")
+    private long totalAmount;
+
+    @Schema(description = "취소 일시 (취소된 주문만)", example = "2025-12-11T09:00:00")
+    private LocalDateTime canceledAt;
+
+    public OrderSummaryResponseDto(OrderSummary summary) {
+        this.orderId = summary.getOrderId();
+        this.orderDate = summary.getOrderDate();
+        this.status = summary.getStatus();
+        this.title = summary.getTitle();
+        this.productNames = summary.getProductNames();
+        this.itemCount = summary.getItemCount();
+        this.totalQuantity = summary.getTotalQuantity();
+        this.totalAmount = summary.getTotalAmount();
+        this.canceledAt = summary.getCanceledAt();
+    }
+}
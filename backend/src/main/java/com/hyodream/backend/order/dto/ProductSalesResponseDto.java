@@ -0,0 +1,24 @@
+package com.hyodream.backend.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductSalesResponseDto {
+    @Schema(description = "상품 ID", example = "15")
+    private Long productId;
+
+    @Schema(description = "상품명 (주문 당시 이름)", example = "정관장 홍삼정")
+    private String productName;
+
+    @Schema(description = "판매 수량 (취소 제외)", example = "120")
+    private long quantity;
+
+    @Schema(description = "매출액 (취소 제외)", example = "3600000")
+    private long revenue;
+
+    @Schema(description = "주문 수 (취소 제외)", example = "95")
+    private long orderCount;
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -17,6 +18,14 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
             "WHERE o.userId = :userId AND oi.productId = :productId")
     boolean existsByUserIdAndProductId(@Param("userId") Long userId, @Param("productId") Long productId);
 
+    // 주문 내역 화면용: 여러 주문의 상품을 한 번에 조회 (엔티티/연관관계 로딩 없음)
+    // 결과: [ [주문ID, 상품ID, 주문가격, 수량], ... ]
+    @Query("SELECT oi.order.id, oi.productId, oi.orderPrice, oi.count " +
+            "FROM OrderItem oi " +
+            "WHERE oi.order.id IN :orderIds " +
+            "ORDER BY oi.id")
+    List<Object[]> findHistoryItemsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT DISTINCT oi.productId FROM OrderItem oi JOIN oi.order o WHERE o.userId = :userId")
     List<Long> findProductIdsByUserId(@Param("userId") Long userId);
 
@@ -28,4 +37,13 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
             "AND o.status = 'ORDER' " + // 취소된 건 제외
             "GROUP BY oi.productId")
     List<Object[]> countSalesByProductSince(@Param("startDate") LocalDateTime startDate);
-}
\ No newline at end of file
+
+    // 📊 통계 쿼리: 특정 날짜 이후 (상품, 주문일)별 판매수량 합계 (일일 판매량 버킷 초기 적재용)
+    // 결과: [ [상품ID, 주문일, 판매수량], ... ]
+    @Query(value = "SELECT oi.product_id, DATE(o.order_date), SUM(oi.count) " +
+            "FROM order_items oi JOIN orders o ON oi.order_id = o.id " +
+            "WHERE o.order_date >= :startDate " +
+            "AND o.status = 'ORDER' " +
+            "GROUP BY oi.product_id, DATE(o.order_date)", nativeQuery = true)
+    List<Object[]> countDailySalesByProductSince(@Param("startDate") LocalDateTime startDate);
+}
@@ -1,10 +1,35 @@
 package com.hyodream.backend.order.repository;
 
 import com.hyodream.backend.order.domain.Order;
+import com.hyodream.backend.order.domain.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    // 내 주문 목록 조회 (날짜 내림차순: 최신순)
-    List<Order> findAllByUserIdOrderByOrderDateDesc(Long userId);
-}
\ No newline at end of file
+
+    // 내 주문 내역 첫 페이지 (최신순, 주문 상품은 별도 일괄 조회) -> [주문ID, 주문일시, 상태]
+    @Query("SELECT o.id, o.orderDate, o.status FROM Order o " +
+            "WHERE o.userId = :userId " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Object[]> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 내 주문 내역 다음 페이지 (키셋: 이전 페이지 마지막 주문의 (주문일시, ID) 이후)
+    @Query("SELECT o.id, o.orderDate, o.status FROM Order o " +
+            "WHERE o.userId = :userId " +
+            "AND (o.orderDate < :cursorDate OR (o.orderDate = :cursorDate AND o.id < :cursorId)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Object[]> findHistoryByUserIdBefore(@Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // 상태 조건부 전환 (결제 워커의 승인/실패 반영과 사용자의 결제 대기 주문 취소가 경합해도 한쪽만 성공)
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to WHERE o.id = :id AND o.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+}
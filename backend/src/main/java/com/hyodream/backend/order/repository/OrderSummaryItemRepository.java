@@ -0,0 +1,22 @@
+package com.hyodream.backend.order.repository;
+
+import com.hyodream.backend.order.domain.OrderSummaryItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryItemRepository extends JpaRepository<OrderSummaryItem, Long> {
+
+    // 기간 내 상품별 매출 상위 -> [상품ID, 상품명, 판매 수량, 매출액, 주문 수] (취소 제외)
+    @Query(value = "SELECT product_id, MAX(product_name), SUM(count), SUM(amount), COUNT(*) AS orders " +
+            "FROM order_summary_items " +
+            "WHERE order_date >= :from AND order_date < :to AND status = 'ORDER' " +
+            "GROUP BY product_id " +
+            "ORDER BY SUM(amount) DESC, product_id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Object[]> aggregateByProduct(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("limit") int limit);
+}
@@ -0,0 +1,39 @@
+package com.hyodream.backend.order.repository;
+
+import com.hyodream.backend.order.domain.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    // 내 주문 요약 첫 페이지 (최신순, 단일 테이블 인덱스 범위 조회)
+    @Query("SELECT s FROM OrderSummary s " +
+            "WHERE s.userId = :userId " +
+            "ORDER BY s.orderDate DESC, s.orderId DESC")
+    List<OrderSummary> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 내 주문 요약 다음 페이지 (키셋: 이전 페이지 마지막 주문의 (주문일시, 주문ID) 이후)
+    @Query("SELECT s FROM OrderSummary s " +
+            "WHERE s.userId = :userId " +
+            "AND (s.orderDate < :cursorDate OR (s.orderDate = :cursorDate AND s.orderId < :cursorId)) " +
+            "ORDER BY s.orderDate DESC, s.orderId DESC")
+    List<OrderSummary> findPageByUserIdBefore(@Param("userId") Long userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // 일별 매출 집계 -> [날짜, 주문 수, 취소 수, 판매 수량, 매출액] (취소 주문은 수량/매출에서 제외)
+    @Query(value = "SELECT DATE(order_date) AS day, " +
+            "SUM(CASE WHEN status = 'ORDER' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'CANCEL' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'ORDER' THEN total_quantity ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'ORDER' THEN total_amount ELSE 0 END) " +
+            "FROM order_summaries " +
+            "WHERE order_date >= :from AND order_date < :to " +
+            "GROUP BY DATE(order_date) ORDER BY day", nativeQuery = true)
+    List<Object[]> aggregateDaily(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,55 +1,309 @@
 package com.hyodream.backend.order.service;
 
 import com.hyodream.backend.order.domain.Cart;
+import com.hyodream.backend.order.dto.CartItemResponseDto;
 import com.hyodream.backend.order.dto.OrderRequestDto;
 import com.hyodream.backend.order.repository.CartRepository;
-import com.hyodream.backend.product.domain.Product;
 import com.hyodream.backend.product.repository.ProductRepository;
-import com.hyodream.backend.user.domain.User;
-import com.hyodream.backend.user.service.UserService;
+import com.hyodream.backend.product.service.ProductNameCache;
+import com.hyodream.backend.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 장바구니 (Redis Hash 기반)
+ * - cart:{username} (Hash) 상품ID -> 수량, 담기/삭제는 Lua 한 번(HINCRBY/HDEL) -> 요청 처리 중 MySQL 접근 없음
+ * - Redis에 키가 없으면(첫 사용, 만료, Redis 재시작) carts 테이블에서 한 번 적재. 빈 장바구니도 적재 표시(_loaded) 필드로 구분
+ * - 변경된 유저는 cart:dirty (Set)에 기록 -> 주기적으로 carts 테이블에 통째로 덮어써서 내구성 확보 (write-behind)
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CartService {
 
+    private static final String KEY_PREFIX = "cart:";
+    private static final String DIRTY_KEY = "cart:dirty";
+    private static final String LOADED_FIELD = "_loaded";
+    private static final int FLUSH_BATCH_SIZE = 200;
+
+    // KEYS[1] = 장바구니 / ARGV[1] = TTL(초), ARGV[2..] = (필드, 값) 반복. 이미 있으면 덮어쓰지 않음 (동시 적재 시 변경분 보호)
+    private static final RedisScript<Long> LOAD_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+            return 1
+            """, Long.class);
+
+    // KEYS[1] = 장바구니, KEYS[2] = dirty Set / ARGV[1] = 상품ID, ARGV[2] = 증감 수량, ARGV[3] = TTL(초), ARGV[4] = 아이디
+    // 적재 전이면 -1, 아니면 변경 후 수량 (0 이하가 되면 항목 삭제)
+    private static final RedisScript<Long> INCREMENT_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            local count = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            if count <= 0 then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                count = 0
+            end
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[3]))
+            redis.call('SADD', KEYS[2], ARGV[4])
+            return count
+            """, Long.class);
+
+    // KEYS[1] = 장바구니, KEYS[2] = dirty Set / ARGV[1] = 상품ID, ARGV[2] = TTL(초), ARGV[3] = 아이디. 적재 전이면 -1
+    private static final RedisScript<Long> REMOVE_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            local removed = redis.call('HDEL', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[2]))
+            redis.call('SADD', KEYS[2], ARGV[3])
+            return removed
+            """, Long.class);
+
+    // KEYS[1] = 장바구니, KEYS[2] = dirty Set / ARGV[1] = TTL(초), ARGV[2] = 아이디, ARGV[3..] = (상품ID, 주문 수량) 반복
+    // 주문한 항목 중 수량이 주문 시점과 같은 것만 삭제 (주문 처리 중에 새로 담거나 수량을 바꾼 항목은 남김), 삭제한 항목 수 반환
+    private static final RedisScript<Long> CLEAR_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local removed = 0
+            for i = 3, #ARGV, 2 do
+                if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+                    removed = removed + redis.call('HDEL', KEYS[1], ARGV[i])
+                end
+            end
+            redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return removed
+            """, Long.class);
+
+    private static final String DELETE_CART_SQL = "DELETE FROM carts WHERE user_id = ?";
+    private static final String INSERT_CART_SQL = "INSERT INTO carts (user_id, product_id, count) VALUES (?, ?, ?)";
+
     private final CartRepository cartRepository;
-    private final UserService userService;
+    private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ProductNameCache productNameCache;
+    private final OrderService orderService;
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
-    // 장바구니 담기
-    @Transactional
+    // 마지막 사용 후 이 기간이 지나면 Redis에서 내림 (다음 사용 시 DB에서 다시 적재)
+    @Value("${cart.redis-ttl-days:30}")
+    private long ttlDays;
+
+    // 장바구니 담기 (이미 담긴 상품이면 수량만 증가)
     public void addCart(OrderRequestDto dto) {
-        User user = userService.getCurrentUser();
+        if (dto.getProductId() == null || dto.getCount() <= 0) {
+            throw new RuntimeException("담을 상품과 수량(1개 이상)을 확인해주세요.");
+        }
+        // 상품 존재 확인은 상품명 캐시로 (대부분 DB 조회 없음)
+        if (!productNameCache.getAll(List.of(dto.getProductId())).containsKey(dto.getProductId())) {
+            throw new RuntimeException("상품 없음");
+        }
 
-        Product product = productRepository.findById(dto.getProductId())
-                .orElseThrow(() -> new RuntimeException("상품 없음"));
+        String username = currentUsername();
+        executeLoaded(username, INCREMENT_SCRIPT,
+                dto.getProductId().toString(), String.valueOf(dto.getCount()), ttlSeconds(), username);
+    }
 
-        Cart cart = cartRepository.findByUserIdAndProductId(user.getId(), product.getId())
-                .orElse(null);
+    // 내 장바구니 조회 (Redis 스냅샷 + 상품 정보 일괄 조회 1회)
+    @Transactional(readOnly = true)
+    public List<CartItemResponseDto> getMyCart() {
+        Map<Long, Integer> items = snapshot(currentUsername());
+        if (items.isEmpty()) {
+            return List.of();
+        }
 
-        if (cart == null) {
-            cart = Cart.createCart(user.getId(), product.getId(), dto.getCount());
-            cartRepository.save(cart);
-        } else {
-            cart.setCount(cart.getCount() + dto.getCount());
+        Map<Long, Object[]> products = new HashMap<>();
+        for (Object[] row : productRepository.findCartInfoByIdIn(items.keySet())) {
+            products.put((Long) row[0], row);
         }
+
+        List<CartItemResponseDto> dtos = new ArrayList<>();
+        items.forEach((productId, count) -> {
+            Object[] p = products.get(productId);
+            if (p != null) { // 삭제된 상품은 제외
+                dtos.add(new CartItemResponseDto(productId, (String) p[1], (Integer) p[2], (String) p[3],
+                        count, (Integer) p[4]));
+            }
+        });
+        return dtos;
     }
 
-    // 내 장바구니 조회
-    @Transactional(readOnly = true)
-    public List<Cart> getMyCart() {
-        User user = userService.getCurrentUser();
-        return cartRepository.findByUserId(user.getId());
+    // 장바구니 항목 삭제 (상품 단위)
+    public void deleteCart(Long productId) {
+        String username = currentUsername();
+        executeLoaded(username, REMOVE_SCRIPT, productId.toString(), ttlSeconds(), username);
     }
 
-    // 장바구니 삭제
+    // 장바구니 전체 주문 (주문 트랜잭션이 커밋되면 주문한 항목만 장바구니에서 삭제)
     @Transactional
-    public void deleteCart(Long cartId) {
-        cartRepository.deleteById(cartId);
+    public Long checkout() {
+        String username = currentUsername();
+        Map<Long, Integer> items = snapshot(username);
+        if (items.isEmpty()) {
+            throw new RuntimeException("장바구니가 비어 있습니다.");
+        }
+
+        List<OrderRequestDto> orderItems = new ArrayList<>();
+        items.forEach((productId, count) -> {
+            OrderRequestDto dto = new OrderRequestDto();
+            dto.setProductId(productId);
+            dto.setCount(count);
+            orderItems.add(dto);
+        });
+
+        Long orderId = orderService.order(orderItems);
+
+        List<String> args = new ArrayList<>();
+        args.add(ttlSeconds());
+        args.add(username);
+        items.forEach((productId, count) -> {
+            args.add(productId.toString());
+            args.add(String.valueOf(count));
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                redisTemplate.execute(CLEAR_SCRIPT, List.of(cartKey(username), DIRTY_KEY), args.toArray());
+            }
+        });
+        return orderId;
+    }
+
+    // 5초마다 변경된 장바구니를 carts 테이블에 반영 (유저 단위로 통째로 덮어쓰기 -> 멱등)
+    // SPOP으로 유저를 꺼내므로 여러 노드가 동시에 돌아도 같은 유저를 중복 처리하지 않음
+    @Scheduled(fixedDelayString = "${cart.flush-interval-ms:5000}")
+    public void flushDirtyCarts() {
+        try {
+            List<String> usernames;
+            do {
+                usernames = redisTemplate.opsForSet().pop(DIRTY_KEY, FLUSH_BATCH_SIZE);
+                if (usernames == null || usernames.isEmpty()) {
+                    return;
+                }
+                persist(usernames);
+            } while (usernames.size() == FLUSH_BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("⚠️ Cart flush failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirtyCarts();
+    }
+
+    private void persist(List<String> usernames) {
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByUsernameIn(usernames)) {
+            userIds.put((String) row[0], (Long) row[1]);
+        }
+
+        for (String username : usernames) {
+            Long userId = userIds.get(username);
+            if (userId == null) {
+                continue; // 탈퇴한 회원
+            }
+            try {
+                Map<Object, Object> entries = redisTemplate.opsForHash().entries(cartKey(username));
+                if (entries.isEmpty()) {
+                    continue; // 이미 만료됨 (마지막 상태는 이전 flush에서 반영됨)
+                }
+                List<Object[]> rows = new ArrayList<>();
+                toItems(entries).forEach((productId, count) -> rows.add(new Object[] { userId, productId, count }));
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(DELETE_CART_SQL, userId);
+                    if (!rows.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_CART_SQL, rows);
+                    }
+                });
+            } catch (Exception e) {
+                // 다음 주기에 다시 시도
+                redisTemplate.opsForSet().add(DIRTY_KEY, username);
+                log.error("⚠️ Cart persist failed for {}: {}", username, e.getMessage());
+            }
+        }
+    }
+
+    // 현재 장바구니 (상품ID -> 수량), 필요하면 DB에서 적재
+    private Map<Long, Integer> snapshot(String username) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(cartKey(username));
+        if (entries.isEmpty()) {
+            load(username);
+            entries = redisTemplate.opsForHash().entries(cartKey(username));
+        }
+        return toItems(entries);
+    }
+
+    // 스크립트 실행, 장바구니가 Redis에 없으면(-1) DB에서 적재 후 한 번 더 실행
+    private void executeLoaded(String username, RedisScript<Long> script, Object... args) {
+        List<String> keys = List.of(cartKey(username), DIRTY_KEY);
+        Long result = redisTemplate.execute(script, keys, args);
+        if (result != null && result == -1) {
+            load(username);
+            redisTemplate.execute(script, keys, args);
+        }
+    }
+
+    private void load(String username) {
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new RuntimeException("로그인된 사용자를 찾을 수 없습니다."));
+
+        List<String> args = new ArrayList<>();
+        args.add(ttlSeconds());
+        args.add(LOADED_FIELD);
+        args.add("1");
+        for (Cart cart : cartRepository.findByUserId(userId)) {
+            args.add(cart.getProductId().toString());
+            args.add(String.valueOf(cart.getCount()));
+        }
+        redisTemplate.execute(LOAD_SCRIPT, List.of(cartKey(username)), args.toArray());
+    }
+
+    private Map<Long, Integer> toItems(Map<Object, Object> entries) {
+        Map<Long, Integer> items = new HashMap<>();
+        entries.forEach((field, value) -> {
+            if (!LOADED_FIELD.equals(field)) {
+                items.put(Long.valueOf(field.toString()), Integer.valueOf(value.toString()));
+            }
+        });
+        return items;
+    }
+
+    private String currentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private String cartKey(String username) {
+        return KEY_PREFIX + username;
+    }
+
+    private String ttlSeconds() {
+        return String.valueOf(Duration.ofDays(ttlDays).toSeconds());
     }
-}
\ No newline at end of file
+}
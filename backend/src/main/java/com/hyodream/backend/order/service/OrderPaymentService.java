@@ -0,0 +1,61 @@
+package com.hyodream.backend.order.service;
+
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.global.outbox.OutboxService;
+import com.hyodream.backend.order.domain.Order;
+import com.hyodream.backend.order.domain.OrderItem;
+import com.hyodream.backend.order.domain.OrderStatus;
+import com.hyodream.backend.order.dto.OrderEventPayload;
+import com.hyodream.backend.order.repository.OrderRepository;
+import com.hyodream.backend.product.service.StockService;
+import com.hyodream.backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 결제 결과를 주문에 반영 (PaymentProcessor가 결제 상태 변경과 같은 트랜잭션에서 호출)
+// 결제 대기(PENDING) 주문만 조건부로 전환 -> 그사이 사용자가 취소했으면 아무것도 하지 않음
+@Service
+@RequiredArgsConstructor
+public class OrderPaymentService {
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final StockService stockService;
+
+    // 결제 승인: 주문 완료로 전환 후 주문 완료 이벤트 기록 (판매량/관심사/주문 요약 등은 이 이벤트로 반영)
+    // false면 이미 취소된 주문
+    @Transactional
+    public boolean confirm(Long orderId) {
+        if (orderRepository.updateStatus(orderId, OrderStatus.PENDING, OrderStatus.ORDER) == 0) {
+            return false;
+        }
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("주문이 존재하지 않습니다."));
+        String username = userRepository.findUsernameById(order.getUserId()).orElse(null);
+
+        outboxService.append(DomainEventType.ORDER_PLACED, order.getId(),
+                OrderEventPayload.of(order, username, order.getOrderItems()));
+        return true;
+    }
+
+    // 결제 실패: 결제 실패로 전환하고 예약해 둔 한정 상품 재고 반환
+    @Transactional
+    public void fail(Long orderId) {
+        if (orderRepository.updateStatus(orderId, OrderStatus.PENDING, OrderStatus.PAYMENT_FAILED) == 0) {
+            return;
+        }
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("주문이 존재하지 않습니다."));
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            counts.merge(item.getProductId(), item.getCount(), Integer::sum);
+        }
+        stockService.restore(counts);
+    }
+}
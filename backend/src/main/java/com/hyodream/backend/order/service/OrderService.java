@@ -2,25 +2,39 @@ package com.hyodream.backend.order.service;
 
 import com.hyodream.backend.payment.service.PaymentService;
 
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.global.outbox.OutboxService;
 import com.hyodream.backend.order.domain.Order;
 import com.hyodream.backend.order.domain.OrderItem;
 import com.hyodream.backend.order.domain.OrderStatus;
+import com.hyodream.backend.order.dto.OrderEventPayload;
+import com.hyodream.backend.order.dto.OrderHistoryResponseDto;
 import com.hyodream.backend.order.dto.OrderItemResponseDto;
 import com.hyodream.backend.order.dto.OrderRequestDto;
 import com.hyodream.backend.order.dto.OrderResponseDto;
+import com.hyodream.backend.order.dto.OrderStatusResponseDto;
+import com.hyodream.backend.order.repository.OrderItemRepository;
 import com.hyodream.backend.order.repository.OrderRepository;
-import com.hyodream.backend.product.domain.Product;
 import com.hyodream.backend.product.repository.ProductRepository;
-import com.hyodream.backend.product.service.ProductService;
+import com.hyodream.backend.product.service.ProductNameCache;
+import com.hyodream.backend.product.service.StockService;
 import com.hyodream.backend.user.domain.User;
 import com.hyodream.backend.user.service.UserService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,64 +44,141 @@ public class OrderService {
     private final UserService userService;
     private final ProductRepository productRepository;
     private final PaymentService paymentService;
-    private final ProductService productService;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductNameCache productNameCache;
+    private final StockService stockService;
 
-    // 주문 생성
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
+
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "INSERT INTO order_items (order_id, product_id, order_price, count) VALUES (?, ?, ?, ?)";
+
+    // 주문 생성 (결제 대기 상태로 접수)
+    // 상품 가격은 한 번에 조회(컬렉션 로딩 없는 projection), 주문 상품은 JDBC 배치 INSERT
+    // -> 상품 수와 관계없이 쿼리 5개 (한정 재고 상품만 상품마다 재고 차감 1개 추가, OrderServiceStatementCountTest)
     @Transactional
     public Long order(List<OrderRequestDto> itemDtos) {
         User user = userService.getCurrentUser();
 
+        if (itemDtos == null || itemDtos.isEmpty()) {
+            throw new RuntimeException("주문할 상품이 없습니다.");
+        }
+
+        Set<Long> productIds = new HashSet<>();
+        for (OrderRequestDto dto : itemDtos) {
+            if (dto.getProductId() == null) {
+                throw new RuntimeException("상품 없음");
+            }
+            if (dto.getCount() <= 0) {
+                throw new RuntimeException("주문 수량은 1개 이상이어야 합니다.");
+            }
+            productIds.add(dto.getProductId());
+        }
+
+        // 상품ID -> 가격, 한정 상품ID -> 현재 재고
+        Map<Long, Integer> prices = new HashMap<>();
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (Object[] row : productRepository.findPriceAndStockByIdIn(productIds)) {
+            prices.put((Long) row[0], (Integer) row[1]);
+            if (row[2] != null) {
+                stocks.put((Long) row[0], (Integer) row[2]);
+            }
+        }
+
         List<OrderItem> orderItems = new ArrayList<>();
+        Map<Long, Integer> salesCounts = new HashMap<>();
         int totalAmount = 0; // 총 결제 금액 계산용 변수
 
         for (OrderRequestDto dto : itemDtos) {
-            Product product = productRepository.findById(dto.getProductId())
-                    .orElseThrow(() -> new RuntimeException("상품 없음"));
-
-            OrderItem orderItem = OrderItem.createOrderItem(product.getId(), product.getPrice(), dto.getCount());
-            orderItems.add(orderItem);
+            Integer price = prices.get(dto.getProductId());
+            if (price == null) {
+                throw new RuntimeException("상품 없음");
+            }
 
-            // 판매량 증가 호출
-            productService.increaseTotalSales(product.getId(), dto.getCount());
+            orderItems.add(OrderItem.createOrderItem(dto.getProductId(), price, dto.getCount()));
+            salesCounts.merge(dto.getProductId(), dto.getCount(), Integer::sum);
 
             // 금액 누적 (가격 * 수량)
-            totalAmount += (product.getPrice() * dto.getCount());
+            totalAmount += (price * dto.getCount());
         }
 
-        // 주문서 생성 및 저장
-        Order order = Order.createOrder(user.getId(), orderItems);
+        // 한정 상품 재고 예약 (Redis에서 먼저 걸러내고 DB 조건부 차감으로 확정, 롤백 시 자동 복구)
+        Map<Long, Integer> limitedCounts = new HashMap<>();
+        salesCounts.forEach((productId, count) -> {
+            if (stocks.containsKey(productId)) {
+                limitedCounts.put(productId, count);
+            }
+        });
+        stockService.reserve(limitedCounts, stocks);
+
+        // 주문서 저장 후 주문 상품은 JDBC 배치로 저장 (IDENTITY 전략이라 JPA로는 배치 INSERT가 안 됨)
+        Order order = Order.createOrder(user.getId(), List.of());
         orderRepository.save(order);
 
-        // PaymentService에게 결제 처리 위임
-        paymentService.processPayment(order.getId(), totalAmount, "CARD");
+        List<Object[]> batchArgs = orderItems.stream()
+                .map(item -> new Object[] { order.getId(), item.getProductId(), item.getOrderPrice(), item.getCount() })
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, batchArgs);
+
+        // 결제는 커밋 이후 결제 워커가 비동기로 처리 (PG 지연 동안 주문 트랜잭션이 락을 잡지 않음)
+        // 판매량/관심사/함께 구매 집계는 결제 승인 시 기록되는 주문 완료 이벤트로 반영
+        paymentService.requestPayment(order.getId(), totalAmount, "CARD");
 
         return order.getId();
     }
 
-    // 내 주문 내역 조회
+    // 내 주문 내역 조회 (키셋 페이지네이션: 주문일시, ID 내림차순)
+    // 주문 1페이지 + 주문 상품 일괄 조회 2번 쿼리, 상품명은 공유 캐시에서 채움 (미스분만 1번 추가 조회)
     @Transactional(readOnly = true)
-    public List<OrderResponseDto> getMyOrders() {
+    public OrderHistoryResponseDto getMyOrders(LocalDateTime cursorDate, Long cursorId, int size) {
+        if ((cursorDate == null) != (cursorId == null)) {
+            throw new RuntimeException("cursorDate와 cursorId는 함께 전달해야 합니다.");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
         User user = userService.getCurrentUser();
 
-        List<Order> orders = orderRepository.findAllByUserIdOrderByOrderDateDesc(user.getId());
+        // 다음 페이지 여부 확인을 위해 1건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Object[]> rows = cursorDate == null
+                ? orderRepository.findHistoryByUserId(user.getId(), limit)
+                : orderRepository.findHistoryByUserIdBefore(user.getId(), cursorDate, cursorId, limit);
 
-        List<OrderResponseDto> dtos = new ArrayList<>();
-
-        for (Order order : orders) {
-            List<OrderItemResponseDto> itemDtos = new ArrayList<>();
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        if (rows.isEmpty()) {
+            return new OrderHistoryResponseDto(List.of(), false, null, null);
+        }
 
-            for (OrderItem item : order.getOrderItems()) {
-                String productName = productRepository.findById(item.getProductId())
-                        .map(Product::getName)
-                        .orElse("판매 중지된 상품");
+        // 주문ID -> 주문 상품 행들 [주문ID, 상품ID, 주문가격, 수량]
+        List<Long> orderIds = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, List<Object[]>> itemsByOrder = new HashMap<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Object[] item : orderItemRepository.findHistoryItemsByOrderIdIn(orderIds)) {
+            itemsByOrder.computeIfAbsent((Long) item[0], k -> new ArrayList<>()).add(item);
+            productIds.add((Long) item[1]);
+        }
+        Map<Long, String> productNames = productNameCache.getAll(productIds);
 
-                itemDtos.add(new OrderItemResponseDto(item, productName));
+        List<OrderResponseDto> dtos = new ArrayList<>();
+        for (Object[] row : rows) {
+            List<OrderItemResponseDto> itemDtos = new ArrayList<>();
+            for (Object[] item : itemsByOrder.getOrDefault((Long) row[0], List.of())) {
+                Long productId = (Long) item[1];
+                itemDtos.add(new OrderItemResponseDto(productId,
+                        productNames.getOrDefault(productId, "판매 중지된 상품"),
+                        (Integer) item[3], (Integer) item[2]));
             }
-
-            dtos.add(new OrderResponseDto(order, itemDtos));
+            dtos.add(new OrderResponseDto((Long) row[0], (LocalDateTime) row[1], (OrderStatus) row[2], itemDtos));
         }
 
-        return dtos; // 조회 기능 끝
+        Object[] last = rows.get(rows.size() - 1);
+        return hasNext
+                ? new OrderHistoryResponseDto(dtos, true, (LocalDateTime) last[1], (Long) last[0])
+                : new OrderHistoryResponseDto(dtos, false, null, null);
     }
 
     // 주문 취소
@@ -107,16 +198,51 @@ public class OrderService {
         if (order.getStatus() == OrderStatus.CANCEL) {
             throw new RuntimeException("이미 취소된 주문입니다.");
         }
+        if (order.getStatus() == OrderStatus.PAYMENT_FAILED) {
+            throw new RuntimeException("결제에 실패한 주문은 취소할 수 없습니다.");
+        }
 
-        // 상태 변경 -> CANCEL
-        order.setStatus(OrderStatus.CANCEL);
-
-        // 주문했던 상품들의 판매량 원상복구 (감소)
+        Map<Long, Integer> canceledCounts = new HashMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            productService.decreaseTotalSales(item.getProductId(), item.getCount());
+            canceledCounts.merge(item.getProductId(), item.getCount(), Integer::sum);
+        }
+
+        if (order.getStatus() == OrderStatus.PENDING) {
+            // 결제 대기 주문: 결제 워커와 경합하므로 조건부 전환 (주문 완료 이벤트가 없었으므로 취소 이벤트도 없음)
+            if (orderRepository.updateStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCEL) == 0) {
+                throw new RuntimeException("결제 처리 중인 주문입니다. 잠시 후 다시 시도해주세요.");
+            }
+            stockService.restore(canceledCounts);
+            paymentService.cancelPayment(orderId);
+            return;
+        }
+
+        // 상태 변경 -> CANCEL (조건부 전환: 동시에 들어온 취소 요청 중 한 건만 재고 복구/취소 이벤트 기록)
+        if (orderRepository.updateStatus(orderId, OrderStatus.ORDER, OrderStatus.CANCEL) == 0) {
+            throw new RuntimeException("이미 취소된 주문입니다.");
         }
 
+        // 한정 상품 재고 복구
+        stockService.restore(canceledCounts);
+
+        // 판매량 원상복구(원래 주문일 버킷에서 차감) 등은 주문 취소 이벤트로 비동기 처리
+        outboxService.append(DomainEventType.ORDER_CANCELED, order.getId(),
+                OrderEventPayload.of(order, user.getUsername(), order.getOrderItems()));
+
         // 결제 취소 처리
         paymentService.cancelPayment(orderId);
     }
-}
\ No newline at end of file
+
+    // 주문/결제 처리 상태 조회 (주문 직후 결제 결과 확인용 폴링)
+    @Transactional(readOnly = true)
+    public OrderStatusResponseDto getOrderStatus(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("주문이 존재하지 않습니다."));
+
+        User user = userService.getCurrentUser();
+        if (!order.getUserId().equals(user.getId())) {
+            throw new RuntimeException("주문자만 조회할 수 있습니다.");
+        }
+        return new OrderStatusResponseDto(order.getId(), order.getStatus(), paymentService.getPaymentInfo(orderId));
+    }
+}
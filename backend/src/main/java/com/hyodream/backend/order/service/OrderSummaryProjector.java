@@ -0,0 +1,220 @@
+package com.hyodream.backend.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyodream.backend.global.outbox.DomainEvent;
+import com.hyodream.backend.global.outbox.DomainEventHandler;
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.order.domain.OrderStatus;
+import com.hyodream.backend.order.dto.OrderEventPayload;
+import com.hyodream.backend.order.repository.OrderItemRepository;
+import com.hyodream.backend.product.service.ProductNameCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 조회 모델(order_summaries, order_summary_items) 갱신기
+ * - 주문 완료 이벤트: 상품명/합계를 계산해 요약 행 INSERT (이미 있으면 상태만 맞춤 -> 재전달/중복 발행에도 멱등)
+ *   이미 있는 행이 결제 전 상태(예: 이전 버전 역적재가 넣은 PENDING)여도 주문 완료로 바로잡고, 취소된 행은 되돌리지 않음
+ * - 주문 취소 이벤트: 상태만 CANCEL로 변경, 요약 행이 아직 없으면(완료 이벤트보다 먼저 도착) 취소 상태로 생성
+ * - 기동 시 기존 주문을 한 번 역적재 (커서를 Redis에 남겨 중단돼도 이어서 진행, 완료 후에는 건너뜀)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryProjector implements DomainEventHandler {
+
+    private static final String BACKFILL_LOCK_KEY = "order-summary:backfill:lock";
+    private static final String BACKFILL_CURSOR_KEY = "order-summary:backfill:cursor";
+    private static final String BACKFILL_DONE_KEY = "order-summary:backfill:done";
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private static final String INSERT_SUMMARY_SQL = """
+            INSERT INTO order_summaries
+                (order_id, user_id, order_date, status, item_count, total_quantity, total_amount, title, product_names, canceled_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) AS s
+            ON DUPLICATE KEY UPDATE
+                status = IF(order_summaries.status = 'CANCEL', order_summaries.status, s.status),
+                canceled_at = COALESCE(order_summaries.canceled_at, s.canceled_at)
+            """;
+
+    private static final String INSERT_SUMMARY_ITEM_SQL = """
+            INSERT INTO order_summary_items (order_id, product_id, product_name, count, amount, order_date, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?) AS s
+            ON DUPLICATE KEY UPDATE
+                status = IF(order_summary_items.status = 'CANCEL', order_summary_items.status, s.status)
+            """;
+
+    // 결제 승인된 적이 있는 주문만 (결제 대기/실패, 결제 전에 취소된 주문은 주문 완료 이벤트가 없으므로 제외)
+    private static final String BACKFILL_ORDERS_SQL = """
+            SELECT o.id, o.user_id, o.order_date, o.status FROM orders o
+            WHERE o.id > ? AND o.status IN ('ORDER', 'CANCEL')
+              AND EXISTS (SELECT 1 FROM payments p WHERE p.order_id = o.id AND p.payment_date IS NOT NULL)
+            ORDER BY o.id
+            LIMIT ?
+            """;
+
+    private static final String CANCEL_SUMMARY_SQL =
+            "UPDATE order_summaries SET status = 'CANCEL', canceled_at = ? WHERE order_id = ?";
+
+    private static final String CANCEL_SUMMARY_ITEMS_SQL =
+            "UPDATE order_summary_items SET status = 'CANCEL' WHERE order_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductNameCache productNameCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "order-summary";
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.ORDER_PLACED || type == DomainEventType.ORDER_CANCELED;
+    }
+
+    @Override
+    public void handle(DomainEvent event) throws Exception {
+        OrderEventPayload order = objectMapper.readValue(event.payload(), OrderEventPayload.class);
+
+        if (event.type() == DomainEventType.ORDER_PLACED) {
+            transactionTemplate.executeWithoutResult(status -> insert(order, OrderStatus.ORDER, null));
+            return;
+        }
+
+        LocalDateTime canceledAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = jdbcTemplate.update(CANCEL_SUMMARY_SQL, Timestamp.valueOf(canceledAt), order.orderId());
+            if (updated == 0) {
+                insert(order, OrderStatus.CANCEL, canceledAt);
+            }
+            jdbcTemplate.update(CANCEL_SUMMARY_ITEMS_SQL, order.orderId());
+        });
+    }
+
+    // 기존 주문 역적재 (주문 ID 순으로 청크 단위, 결제 완료/취소된 주문만 -> 이벤트로 이미 만들어진 행은 취소 상태를 유지)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(BACKFILL_DONE_KEY))) {
+            return;
+        }
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(BACKFILL_LOCK_KEY, "1", Duration.ofMinutes(30));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+
+        try {
+            String cursor = redisTemplate.opsForValue().get(BACKFILL_CURSOR_KEY);
+            long lastId = cursor == null ? 0 : Long.parseLong(cursor);
+            long total = 0;
+
+            while (true) {
+                List<Object[]> orders = jdbcTemplate.query(BACKFILL_ORDERS_SQL,
+                        (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getLong(2),
+                                rs.getTimestamp(3).toLocalDateTime(), rs.getString(4) },
+                        lastId, BACKFILL_CHUNK_SIZE);
+                if (orders.isEmpty()) {
+                    break;
+                }
+
+                Map<Long, List<OrderEventPayload.Item>> itemsByOrder = loadItems(
+                        orders.stream().map(row -> (Long) row[0]).toList());
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Object[] row : orders) {
+                        Long orderId = (Long) row[0];
+                        OrderEventPayload order = new OrderEventPayload(orderId, (Long) row[1], null,
+                                (LocalDateTime) row[2], itemsByOrder.getOrDefault(orderId, List.of()));
+                        // 과거 취소 주문은 취소 시각을 알 수 없으므로 비워 둠
+                        insert(order, OrderStatus.valueOf((String) row[3]), null);
+                    }
+                });
+
+                lastId = (Long) orders.get(orders.size() - 1)[0];
+                total += orders.size();
+                redisTemplate.opsForValue().set(BACKFILL_CURSOR_KEY, String.valueOf(lastId));
+            }
+
+            redisTemplate.opsForValue().set(BACKFILL_DONE_KEY, "1");
+            redisTemplate.delete(BACKFILL_CURSOR_KEY);
+            log.info("🧾 Order summary backfill finished ({} orders)", total);
+        } catch (Exception e) {
+            log.error("⚠️ Order summary backfill failed (will resume on next start): {}", e.getMessage());
+        } finally {
+            redisTemplate.delete(BACKFILL_LOCK_KEY);
+        }
+    }
+
+    // 주문ID -> 주문 상품 ([주문ID, 상품ID, 주문가격, 수량] 일괄 조회)
+    private Map<Long, List<OrderEventPayload.Item>> loadItems(List<Long> orderIds) {
+        Map<Long, List<OrderEventPayload.Item>> itemsByOrder = new HashMap<>();
+        for (Object[] row : orderItemRepository.findHistoryItemsByOrderIdIn(orderIds)) {
+            itemsByOrder.computeIfAbsent((Long) row[0], k -> new ArrayList<>())
+                    .add(new OrderEventPayload.Item((Long) row[1], (Integer) row[3], (Integer) row[2]));
+        }
+        return itemsByOrder;
+    }
+
+    // 요약 행 + 상품별 행 저장 (같은 상품이 여러 줄이면 합침, 상품명은 반영 시점의 이름)
+    private void insert(OrderEventPayload order, OrderStatus status, LocalDateTime canceledAt) {
+        Map<Long, long[]> byProduct = new LinkedHashMap<>(); // 상품ID -> [수량, 금액]
+        for (OrderEventPayload.Item item : order.items()) {
+            long[] sums = byProduct.computeIfAbsent(item.productId(), k -> new long[2]);
+            sums[0] += item.count();
+            sums[1] += (long) item.orderPrice() * item.count();
+        }
+        Map<Long, String> names = productNameCache.getAll(byProduct.keySet());
+
+        List<String> productNames = new ArrayList<>();
+        List<Object[]> itemArgs = new ArrayList<>();
+        int totalQuantity = 0;
+        long totalAmount = 0;
+        for (Map.Entry<Long, long[]> entry : byProduct.entrySet()) {
+            String productName = names.getOrDefault(entry.getKey(), "판매 중지된 상품");
+            productNames.add(productName);
+            totalQuantity += (int) entry.getValue()[0];
+            totalAmount += entry.getValue()[1];
+            itemArgs.add(new Object[] { order.orderId(), entry.getKey(), productName, entry.getValue()[0],
+                    entry.getValue()[1], Timestamp.valueOf(order.orderDate()), status.name() });
+        }
+
+        jdbcTemplate.update(INSERT_SUMMARY_SQL, order.orderId(), order.userId(), Timestamp.valueOf(order.orderDate()),
+                status.name(), byProduct.size(), totalQuantity, totalAmount, title(productNames),
+                String.join(", ", productNames), canceledAt == null ? null : Timestamp.valueOf(canceledAt));
+        if (!itemArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SUMMARY_ITEM_SQL, itemArgs);
+        }
+    }
+
+    // 목록 표시용 제목 (예: "정관장 홍삼정 외 2건")
+    private String title(List<String> productNames) {
+        if (productNames.isEmpty()) {
+            return "";
+        }
+        String title = productNames.size() == 1
+                ? productNames.get(0)
+                : productNames.get(0) + " 외 " + (productNames.size() - 1) + "건";
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+    }
+}
@@ -0,0 +1,102 @@
+package com.hyodream.backend.order.service;
+
+import com.hyodream.backend.order.domain.OrderSummary;
+import com.hyodream.backend.order.dto.DailySalesResponseDto;
+import com.hyodream.backend.order.dto.OrderSummaryPageResponseDto;
+import com.hyodream.backend.order.dto.OrderSummaryResponseDto;
+import com.hyodream.backend.order.dto.ProductSalesResponseDto;
+import com.hyodream.backend.order.repository.OrderSummaryItemRepository;
+import com.hyodream.backend.order.repository.OrderSummaryRepository;
+import com.hyodream.backend.user.domain.User;
+import com.hyodream.backend.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// 주문 조회 모델(order_summaries) 기반 조회 (주문/주문 상품/상품 테이블과 조인하지 않음, 이벤트 반영까지 약간의 지연 있음)
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int MAX_PRODUCT_LIMIT = 100;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryItemRepository orderSummaryItemRepository;
+    private final UserService userService;
+
+    // 내 주문 요약 목록 (키셋 페이지네이션: 주문일시, 주문ID 내림차순)
+    @Transactional(readOnly = true)
+    public OrderSummaryPageResponseDto getMySummaries(LocalDateTime cursorDate, Long cursorId, int size) {
+        if ((cursorDate == null) != (cursorId == null)) {
+            throw new RuntimeException("cursorDate와 cursorId는 함께 전달해야 합니다.");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        User user = userService.getCurrentUser();
+
+        // 다음 페이지 여부 확인을 위해 1건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<OrderSummary> rows = cursorDate == null
+                ? orderSummaryRepository.findPageByUserId(user.getId(), limit)
+                : orderSummaryRepository.findPageByUserIdBefore(user.getId(), cursorDate, cursorId, limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        List<OrderSummaryResponseDto> dtos = rows.stream().map(OrderSummaryResponseDto::new).toList();
+        if (!hasNext) {
+            return new OrderSummaryPageResponseDto(dtos, false, null, null);
+        }
+        OrderSummary last = rows.get(rows.size() - 1);
+        return new OrderSummaryPageResponseDto(dtos, true, last.getOrderDate(), last.getOrderId());
+    }
+
+    // 일별 매출 (from ~ to, 양끝 포함)
+    @Transactional(readOnly = true)
+    public List<DailySalesResponseDto> getDailySales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return orderSummaryRepository.aggregateDaily(from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+                .map(row -> new DailySalesResponseDto(toLocalDate(row[0]), toLong(row[1]), toLong(row[2]),
+                        toLong(row[3]), toLong(row[4])))
+                .toList();
+    }
+
+    // 기간 내 매출 상위 상품 (from ~ to, 양끝 포함)
+    @Transactional(readOnly = true)
+    public List<ProductSalesResponseDto> getProductSales(LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        int size = Math.min(Math.max(limit, 1), MAX_PRODUCT_LIMIT);
+        return orderSummaryItemRepository.aggregateByProduct(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), size)
+                .stream()
+                .map(row -> new ProductSalesResponseDto(toLong(row[0]), (String) row[1], toLong(row[2]),
+                        toLong(row[3]), toLong(row[4])))
+                .toList();
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("조회 시작일이 종료일보다 늦습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+        }
+    }
+
+    // 네이티브 집계 결과 타입 (SUM -> BigDecimal, COUNT -> Long 등) 통일
+    private long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -21,8 +21,9 @@ public class PaymentController {
             특정 주문 번호(`orderId`)에 대한 상세 결제 내역을 조회합니다.
             
             **[반환 데이터]**
-            - 결제 금액, 수단(CARD/CASH), 결제 일시
-            - 결제 상태 (`DONE`: 결제 완료, `CANCELED`: 취소/환불)
+            - 결제 금액, 수단(CARD/CASH), 결제 일시 (승인 전에는 비어 있음)
+            - 결제 상태 (`PENDING`: 결제 대기, `DONE`: 결제 완료, `FAILED`: 결제 실패, `CANCELED`: 취소/환불)
+            - 결제 대행사 호출 횟수, 실패 사유
             """)
     @GetMapping("/order/{orderId}")
     public ResponseEntity<PaymentResponseDto> getPaymentInfo(
@@ -8,33 +8,55 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "payments")
+// 결제 워커가 처리할 대기 결제 조회용 (status, next_attempt_at) 인덱스
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_payments_order", columnList = "order_id"),
+        @Index(name = "idx_payments_refund", columnList = "refund_pending")
+})
 public class Payment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(name = "order_id", nullable = false)
     private Long orderId; // 주문 ID (객체 참조 X)
 
     private int amount; // 결제 금액
 
     private String paymentMethod; // CARD, CASH, KAKAO_PAY 등
 
-    private LocalDateTime paymentDate;
+    private LocalDateTime paymentDate; // 결제 승인 일시 (승인 전에는 null)
 
     @Enumerated(EnumType.STRING)
     private PaymentStatus status; // 결제 상태 추가
 
-    // 생성 메서드
+    private int attempts; // 결제 대행사 호출 횟수
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt; // 다음 처리(재시도) 가능 시각
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil; // 워커 점유 만료 시각 (워커가 죽으면 이후 다른 워커가 다시 처리)
+
+    @Column(name = "transaction_id")
+    private String transactionId; // 결제 대행사 승인 번호
+
+    @Column(name = "failure_reason")
+    private String failureReason; // 마지막 실패 사유
+
+    @Column(name = "refund_pending")
+    private boolean refundPending; // 결제 대행사 환불 대기 (승인된 뒤 취소된 결제, 결제 워커가 환불 후 false)
+
+    // 생성 메서드 (결제 대기 상태로 생성 -> PaymentProcessor가 비동기로 승인 처리)
     public static Payment createPayment(Long orderId, int amount, String method) {
         Payment payment = new Payment();
         payment.setOrderId(orderId);
         payment.setAmount(amount);
         payment.setPaymentMethod(method);
-        payment.setPaymentDate(LocalDateTime.now());
-        payment.setStatus(PaymentStatus.DONE); // 기본값: 완료
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setNextAttemptAt(LocalDateTime.now());
         return payment;
     }
-}
\ No newline at end of file
+}
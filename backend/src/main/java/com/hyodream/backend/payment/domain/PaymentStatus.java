@@ -1,6 +1,8 @@
 package com.hyodream.backend.payment.domain;
 
 public enum PaymentStatus {
+    PENDING,    // 결제 대기 (워커가 결제 대행사 호출 중이거나 재시도 대기)
     DONE,       // 결제 완료
+    FAILED,     // 결제 실패 (거절 또는 재시도 한도 초과)
     CANCELED    // 결제 취소 (환불)
-}
+}
\ No newline at end of file
@@ -24,9 +24,15 @@ public class PaymentResponseDto {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime paymentDate;
     
-    @Schema(description = "결제 상태", example = "COMPLETED")
+    @Schema(description = "결제 상태 (PENDING: 결제 대기, DONE: 결제 완료, FAILED: 결제 실패, CANCELED: 취소/환불)", example = "DONE")
     private String status; // 상태 추가
 
+    @Schema(description = "결제 대행사 호출 횟수 (재시도 포함)", example = "1")
+    private int attempts;
+
+    @Schema(description = "실패 사유 (결제 실패 또는 재시도 대기 중일 때)", example = "결제 대행사 응답 시간 초과")
+    private String failureReason;
+
     public PaymentResponseDto(Payment payment) {
         this.paymentId = payment.getId();
         this.orderId = payment.getOrderId();
@@ -34,5 +40,7 @@ public class PaymentResponseDto {
         this.paymentMethod = payment.getPaymentMethod();
         this.paymentDate = payment.getPaymentDate();
         this.status = payment.getStatus().name();
+        this.attempts = payment.getAttempts();
+        this.failureReason = payment.getFailureReason();
     }
 }
\ No newline at end of file
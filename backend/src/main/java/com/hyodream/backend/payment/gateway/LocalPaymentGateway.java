@@ -0,0 +1,62 @@
+package com.hyodream.backend.payment.gateway;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 로컬/테스트용 가상 PG
+ * - 설정된 지연 시간만큼 대기 후 승인 (금액이 0 이하이면 거절)
+ * - failure-rate 비율로 일시 장애(PaymentGatewayException)를 흉내 내서 재시도 경로 확인 가능
+ * - 같은 paymentKey는 같은 승인 번호를 돌려줌 (실제 PG의 멱등 키 동작), 환불하면 승인 내역 삭제
+ */
+@Component
+public class LocalPaymentGateway implements PaymentGateway {
+
+    @Value("${payment.gateway.local.latency-ms:300}")
+    private long latencyMs;
+
+    @Value("${payment.gateway.local.failure-rate:0.0}")
+    private double failureRate;
+
+    // paymentKey -> 승인 번호 (재시도 구간만 기억하면 되므로 하루 보관)
+    private final Cache<String, String> approvals = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    @Override
+    public ChargeResult charge(String paymentKey, int amount, String method) {
+        simulateCall();
+        if (amount <= 0) {
+            return ChargeResult.declined("결제 금액이 올바르지 않습니다.");
+        }
+        String transactionId = approvals.get(paymentKey,
+                key -> "LOCAL-" + UUID.randomUUID().toString().substring(0, 12));
+        return ChargeResult.approved(transactionId);
+    }
+
+    @Override
+    public void refund(String paymentKey) {
+        simulateCall();
+        approvals.invalidate(paymentKey);
+    }
+
+    // 응답 지연 + 일시 장애 흉내
+    private void simulateCall() {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("결제 대행사 호출이 중단되었습니다.");
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new PaymentGatewayException("결제 대행사 응답 시간 초과");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.hyodream.backend.payment.gateway;
+
+// 결제 대행사(PG) 연동 지점
+// paymentKey가 같으면 여러 번 호출해도 한 번만 결제되어야 함 (타임아웃 후 재시도 대비)
+public interface PaymentGateway {
+
+    // 승인/거절 결과 반환, 타임아웃/일시 장애는 PaymentGatewayException (재시도 대상)
+    ChargeResult charge(String paymentKey, int amount, String method);
+
+    // 승인된 결제 전액 환불 (이미 환불됐거나 승인 내역이 없으면 아무것도 하지 않음), 일시 장애는 PaymentGatewayException
+    void refund(String paymentKey);
+
+    record ChargeResult(boolean approved, String transactionId, String declineReason) {
+
+        public static ChargeResult approved(String transactionId) {
+            return new ChargeResult(true, transactionId, null);
+        }
+
+        public static ChargeResult declined(String reason) {
+            return new ChargeResult(false, null, reason);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hyodream.backend.payment.gateway;
+
+// 결제 대행사 일시 장애 (타임아웃, 5xx 등) -> 결제 워커가 백오프 후 재시도
+public class PaymentGatewayException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,29 @@
 package com.hyodream.backend.payment.repository; // 패키지 확인!
 
 import com.hyodream.backend.payment.domain.Payment;
+import com.hyodream.backend.payment.domain.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // 주문 번호로 결제 내역 찾기
     Optional<Payment> findByOrderId(Long orderId);
-}
\ No newline at end of file
+
+    // 상태 조건부 전환 (결제 워커와 주문 취소가 동시에 같은 결제를 바꾸지 않도록)
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :to, p.lockedUntil = null " +
+            "WHERE p.orderId = :orderId AND p.status IN :from")
+    int updateStatusByOrderId(@Param("orderId") Long orderId,
+            @Param("from") Collection<PaymentStatus> from,
+            @Param("to") PaymentStatus to);
+
+    // 승인 완료된 결제를 취소할 때 환불 대기로 표시 (상태 전환 전에 호출, 결제 워커가 PG 환불 처리)
+    @Modifying
+    @Query("UPDATE Payment p SET p.refundPending = true " +
+            "WHERE p.orderId = :orderId AND p.status = com.hyodream.backend.payment.domain.PaymentStatus.DONE")
+    int markRefundPendingByOrderId(@Param("orderId") Long orderId);
+}
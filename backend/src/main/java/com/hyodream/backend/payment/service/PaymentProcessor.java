@@ -0,0 +1,308 @@
+package com.hyodream.backend.payment.service;
+
+import com.hyodream.backend.order.service.OrderPaymentService;
+import com.hyodream.backend.payment.gateway.PaymentGateway;
+import com.hyodream.backend.payment.gateway.PaymentGateway.ChargeResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 결제 워커 (주문 트랜잭션 밖에서 PG 호출)
+ * - 주문 커밋 직후 결제 ID를 워커 풀에 넘기고, 놓친 건(큐 초과, 재시작, 재시도 대기)은 주기적으로 DB에서 다시 수거
+ * - 처리 전 조건부 UPDATE로 점유(locked_until) -> 여러 노드/스레드가 같은 결제를 동시에 처리하지 않음
+ * - 일시 장애는 지수 백오프(+지터)로 재시도, 한도를 넘기거나 거절되면 결제 실패 + 주문 실패(재고 반환)
+ * - 워커가 PG 호출 도중 죽으면 점유 만료 후 다시 처리 (PG에 결제 ID 기반 멱등 키를 넘기므로 이중 결제 없음)
+ * - 승인된 뒤 취소된 결제(refund_pending)는 같은 점유 방식으로 PG 환불, 실패하면 수거 주기에 재시도
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentProcessor {
+
+    private static final String CLAIM_SQL = """
+            UPDATE payments SET locked_until = ?, attempts = attempts + 1
+            WHERE id = ? AND status = 'PENDING' AND next_attempt_at <= ?
+              AND (locked_until IS NULL OR locked_until < ?)
+            """;
+    private static final String SELECT_PAYMENT_SQL =
+            "SELECT order_id, amount, payment_method, attempts FROM payments WHERE id = ?";
+    private static final String SELECT_DUE_SQL = """
+            SELECT id FROM payments
+            WHERE status = 'PENDING' AND next_attempt_at <= ?
+              AND (locked_until IS NULL OR locked_until < ?)
+            ORDER BY next_attempt_at
+            LIMIT ?
+            """;
+    private static final String DONE_SQL = """
+            UPDATE payments SET status = 'DONE', payment_date = ?, transaction_id = ?, locked_until = NULL, failure_reason = NULL
+            WHERE id = ? AND status = 'PENDING'
+            """;
+    private static final String FAIL_SQL = """
+            UPDATE payments SET status = 'FAILED', failure_reason = ?, locked_until = NULL
+            WHERE id = ? AND status = 'PENDING'
+            """;
+    private static final String RETRY_SQL = """
+            UPDATE payments SET next_attempt_at = ?, failure_reason = ?, locked_until = NULL
+            WHERE id = ? AND status = 'PENDING'
+            """;
+    // 승인 직전에 사용자가 취소한 결제 (취소 시점엔 승인 전이라 환불 대기로 표시되지 않았음)
+    private static final String REFUND_REQUIRED_SQL = """
+            UPDATE payments SET refund_pending = TRUE, transaction_id = ?
+            WHERE id = ? AND status = 'CANCELED'
+            """;
+    private static final String SELECT_REFUND_DUE_SQL = """
+            SELECT id FROM payments
+            WHERE refund_pending = TRUE AND (locked_until IS NULL OR locked_until < ?)
+            LIMIT ?
+            """;
+    private static final String CLAIM_REFUND_SQL = """
+            UPDATE payments SET locked_until = ?
+            WHERE id = ? AND refund_pending = TRUE AND (locked_until IS NULL OR locked_until < ?)
+            """;
+    private static final String REFUNDED_SQL =
+            "UPDATE payments SET refund_pending = FALSE, locked_until = NULL, failure_reason = NULL WHERE id = ?";
+    // 환불 실패: 점유 만료 시각을 재시도 시각으로 사용
+    private static final String REFUND_RETRY_SQL =
+            "UPDATE payments SET locked_until = ?, failure_reason = ? WHERE id = ? AND refund_pending = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentGateway paymentGateway;
+    private final OrderPaymentService orderPaymentService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${payment.worker.threads:8}")
+    private int threads;
+
+    @Value("${payment.worker.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // PG 호출 최대 소요 시간보다 길어야 함 (만료되면 다른 워커가 다시 처리)
+    @Value("${payment.worker.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${payment.worker.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.worker.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @Value("${payment.worker.retry-max-ms:60000}")
+    private long retryMaxMs;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer gatewayTimer;
+    private Counter approvedCounter;
+    private Counter declinedCounter;
+    private Counter retriedCounter;
+    private Counter exhaustedCounter;
+    private Counter refundedCounter;
+    private Counter refundRetriedCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        // 큐가 가득 차면 버림 -> 결제 행은 PENDING으로 남아 있으므로 수거 주기에 다시 처리
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "payment-worker-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        gatewayTimer = Timer.builder("payment.gateway.latency")
+                .description("결제 대행사 승인 요청 소요 시간")
+                .register(meterRegistry);
+        approvedCounter = resultCounter("approved");
+        declinedCounter = resultCounter("declined");
+        retriedCounter = resultCounter("retried");
+        exhaustedCounter = resultCounter("exhausted");
+        refundedCounter = resultCounter("refunded");
+        refundRetriedCounter = resultCounter("refund_retried");
+        Gauge.builder("payment.worker.queue", executor, e -> e.getQueue().size())
+                .description("처리 대기 중인 결제 수 (워커 큐)")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // 주문 커밋 직후 호출 (큐가 가득 차도 예외 없이 버리고 수거 주기에 맡김)
+    public void submit(Long paymentId) {
+        executor.execute(() -> {
+            try {
+                process(paymentId);
+            } catch (Exception e) {
+                // 점유 만료 후 수거 주기에 다시 처리됨
+                log.error("⚠️ Payment {} processing failed: {}", paymentId, e.getMessage());
+            }
+        });
+    }
+
+    private void submitRefund(Long paymentId) {
+        executor.execute(() -> {
+            try {
+                refund(paymentId);
+            } catch (Exception e) {
+                log.error("⚠️ Payment {} refund failed: {}", paymentId, e.getMessage());
+            }
+        });
+    }
+
+    // 재시도 시각이 된 결제와 놓친 결제, 환불 대기 결제를 수거해 워커에 다시 넘김 (큐 여유분만큼만)
+    @Scheduled(fixedDelayString = "${payment.worker.sweep-interval-ms:5000}")
+    public void sweep() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Long> due = jdbcTemplate.queryForList(SELECT_DUE_SQL, Long.class, now, now, capacity);
+            due.forEach(this::submit);
+
+            int remaining = capacity - due.size();
+            if (remaining > 0) {
+                jdbcTemplate.queryForList(SELECT_REFUND_DUE_SQL, Long.class, now, remaining).forEach(this::submitRefund);
+            }
+        } catch (Exception e) {
+            log.error("⚠️ Payment sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void process(Long paymentId) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        int claimed = jdbcTemplate.update(CLAIM_SQL,
+                Timestamp.valueOf(now.plusSeconds(leaseSeconds)), paymentId, nowTs, nowTs);
+        if (claimed == 0) {
+            return; // 이미 처리됐거나 다른 워커가 점유 중, 또는 재시도 시각 전
+        }
+
+        Object[] payment = jdbcTemplate.queryForObject(SELECT_PAYMENT_SQL,
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getInt(4) },
+                paymentId);
+        Long orderId = (Long) payment[0];
+        int attempts = (Integer) payment[3];
+
+        ChargeResult result;
+        try {
+            result = gatewayTimer.recordCallable(() ->
+                    paymentGateway.charge("payment-" + paymentId, (Integer) payment[1], (String) payment[2]));
+        } catch (Exception e) {
+            if (attempts >= maxAttempts) {
+                exhaustedCounter.increment();
+                log.warn("💳 Payment {} failed after {} attempts: {}", paymentId, attempts, e.getMessage());
+                fail(paymentId, orderId, "결제 대행사 응답이 없어 결제에 실패했습니다.");
+            } else {
+                retriedCounter.increment();
+                LocalDateTime nextAttemptAt = LocalDateTime.now().plusNanos(backoffMs(attempts) * 1_000_000);
+                jdbcTemplate.update(RETRY_SQL, Timestamp.valueOf(nextAttemptAt), truncate(e.getMessage()), paymentId);
+                log.info("🔁 Payment {} retry scheduled (attempt {}/{}): {}", paymentId, attempts, maxAttempts,
+                        e.getMessage());
+            }
+            return;
+        }
+
+        if (!result.approved()) {
+            declinedCounter.increment();
+            fail(paymentId, orderId, result.declineReason());
+            return;
+        }
+
+        approvedCounter.increment();
+        // 주문 -> 결제 순으로 갱신 (주문 취소와 같은 락 순서)
+        Boolean confirmed = transactionTemplate.execute(status -> {
+            if (orderPaymentService.confirm(orderId)) {
+                jdbcTemplate.update(DONE_SQL, Timestamp.valueOf(LocalDateTime.now()), result.transactionId(), paymentId);
+                return true;
+            }
+            // 승인 직전에 사용자가 취소함 (결제는 이미 CANCELED) -> 환불 대기로 남겨 두고 바로 환불 시도
+            jdbcTemplate.update(REFUND_REQUIRED_SQL, result.transactionId(), paymentId);
+            return false;
+        });
+        if (!Boolean.TRUE.equals(confirmed)) {
+            log.warn("💸 Payment {} approved after order {} was canceled, refunding (tx: {})",
+                    paymentId, orderId, result.transactionId());
+            refund(paymentId);
+        }
+    }
+
+    // PG 환불 (점유 후 호출, 일시 장애면 retry-max-ms 뒤 수거 주기에 재시도, 멱등 키라 중복 환불 없음)
+    private void refund(Long paymentId) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        int claimed = jdbcTemplate.update(CLAIM_REFUND_SQL,
+                Timestamp.valueOf(now.plusSeconds(leaseSeconds)), paymentId, nowTs);
+        if (claimed == 0) {
+            return; // 이미 환불됐거나 다른 워커가 처리 중
+        }
+
+        try {
+            paymentGateway.refund("payment-" + paymentId);
+        } catch (Exception e) {
+            refundRetriedCounter.increment();
+            LocalDateTime retryAt = LocalDateTime.now().plusNanos(retryMaxMs * 1_000_000);
+            jdbcTemplate.update(REFUND_RETRY_SQL, Timestamp.valueOf(retryAt), truncate(e.getMessage()), paymentId);
+            log.warn("🔁 Payment {} refund retry scheduled: {}", paymentId, e.getMessage());
+            return;
+        }
+        jdbcTemplate.update(REFUNDED_SQL, paymentId);
+        refundedCounter.increment();
+        log.info("💸 Payment {} refunded", paymentId);
+    }
+
+    // 주문 -> 결제 순으로 갱신 (주문 취소와 같은 락 순서)
+    private void fail(Long paymentId, Long orderId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderPaymentService.fail(orderId);
+            jdbcTemplate.update(FAIL_SQL, truncate(reason), paymentId);
+        });
+    }
+
+    // 지수 백오프 (base * 2^(시도-1), 상한 적용) + 50~100% 지터로 동시 재시도 분산
+    private long backoffMs(int attempts) {
+        long delay = Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+        return (long) (delay * (0.5 + ThreadLocalRandom.current().nextDouble() * 0.5));
+    }
+
+    private String truncate(String reason) {
+        if (reason == null) {
+            return null;
+        }
+        return reason.length() > 255 ? reason.substring(0, 255) : reason;
+    }
+
+    private Counter resultCounter(String result) {
+        return Counter.builder("payment.processed")
+                .description("결제 워커 처리 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -6,30 +6,46 @@ import com.hyodream.backend.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.hyodream.backend.payment.domain.PaymentStatus;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final PaymentProcessor paymentProcessor;
 
-    // 결제 처리 (OrderService에서 호출)
+    // 결제 요청 (OrderService에서 호출)
+    // 결제 대기 상태로만 기록하고, PG 호출은 커밋 이후 결제 워커가 처리 -> 주문 트랜잭션이 PG 지연 동안 락을 잡지 않음
     @Transactional
-    public void processPayment(Long orderId, int amount, String method) {
-        // PG사 연동한다면 로직이 들어갈 자리
+    public void requestPayment(Long orderId, int amount, String method) {
         Payment payment = Payment.createPayment(orderId, amount, method);
         paymentRepository.save(payment);
+
+        Long paymentId = payment.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                paymentProcessor.submit(paymentId);
+            }
+        });
     }
 
     // 결제 취소 (OrderService에서 호출)
+    // 워커가 처리 중인 결제 대기 건도 취소 가능 (조건부 전환이라 워커의 승인 반영과 한쪽만 성공)
     @Transactional
     public void cancelPayment(Long orderId) {
-        Payment payment = paymentRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new RuntimeException("결제 정보가 없습니다."));
-
-        payment.setStatus(PaymentStatus.CANCELED);
+        paymentRepository.markRefundPendingByOrderId(orderId); // 승인된 결제는 커밋 후 결제 워커가 환불
+        int updated = paymentRepository.updateStatusByOrderId(orderId,
+                List.of(PaymentStatus.PENDING, PaymentStatus.DONE), PaymentStatus.CANCELED);
+        if (updated == 0) {
+            throw new RuntimeException("결제 정보가 없습니다.");
+        }
     }
 
     // 결제 내역 조회 (Controller에서 호출)
@@ -39,4 +55,4 @@ public class PaymentService {
                 .orElseThrow(() -> new RuntimeException("결제 정보가 없습니다."));
         return new PaymentResponseDto(payment);
     }
-}
\ No newline at end of file
+}
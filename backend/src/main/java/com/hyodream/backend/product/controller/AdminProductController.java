@@ -0,0 +1,51 @@
+package com.hyodream.backend.product.controller;
+
+import com.hyodream.backend.product.service.ReviewService;
+import com.hyodream.backend.product.service.StockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Admin Product API", description = "상품 운영 API (운영자용, `security.admin-usernames`에 등록된 회원만 호출 가능)")
+@RestController
+@RequestMapping("/api/admin/products")
+@RequiredArgsConstructor
+public class AdminProductController {
+
+    private final ReviewService reviewService;
+    private final StockService stockService;
+
+    @Operation(summary = "리뷰 감성 전체 재분석 요청", description = """
+            상품의 모든 리뷰를 AI 서버로 다시 보내 감성(긍정/부정)을 처음부터 분석합니다.
+            
+            **[평소 분석 방식과의 차이]**
+            - 평소에는 리뷰마다 저장된 분석 결과를 재사용하고, **새로 작성/수정된 리뷰만** AI 서버로 보냅니다.
+            - 이 요청은 저장된 리뷰별 결과를 모두 초기화한 뒤 분석 큐에 우선순위로 등록합니다.
+            - 본문 해시 캐시를 거치지 않고 모든 리뷰를 AI 서버로 보내며, 새 판정으로 캐시 항목도 갱신합니다.
+            - 모델을 교체해 모든 상품의 이전 판정을 버리려면 `review-analysis.sentiment-cache.model-version`을 올리면 됩니다.
+            - 분석은 비동기로 진행되며, 상품 상세 조회의 `analysisStatus`로 완료 여부를 확인할 수 있습니다.
+            """)
+    @PostMapping("/{productId}/review-analysis")
+    public ResponseEntity<String> requestFullReanalysis(@PathVariable Long productId) {
+        reviewService.requestFullReanalysis(productId);
+        return ResponseEntity.accepted().body("리뷰 전체 재분석을 요청했습니다.");
+    }
+
+    @Operation(summary = "한정 판매 재고 설정", description = """
+            상품의 남은 판매 수량을 설정합니다. 선착순/한정 수량 프로모션에 사용합니다.
+            
+            - `quantity`를 생략하면 **무제한**(재고 관리 안 함)으로 전환합니다.
+            - 주문 시 Redis에서 원자적으로 재고를 예약하고(부족하면 즉시 거절), 예약된 주문만 DB 재고를 차감합니다.
+            - 주문 실패/취소 시 재고는 자동으로 복구됩니다.
+            """)
+    @PutMapping("/{id}/stock")
+    public ResponseEntity<String> setStock(
+            @Parameter(description = "상품 ID") @PathVariable Long id,
+            @Parameter(description = "남은 수량 (생략 시 무제한)") @RequestParam(required = false) Integer quantity) {
+        stockService.setStock(id, quantity);
+        return ResponseEntity.ok("재고가 설정되었습니다.");
+    }
+}
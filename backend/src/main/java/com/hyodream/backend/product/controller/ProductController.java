@@ -2,7 +2,9 @@ package com.hyodream.backend.product.controller;
 
 import com.hyodream.backend.product.dto.ProductRequestDto;
 import com.hyodream.backend.product.dto.ProductResponseDto;
+import com.hyodream.backend.product.dto.TrendingResponseDto;
 import com.hyodream.backend.product.service.ProductService;
+import com.hyodream.backend.product.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,6 +26,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final TrendingService trendingService;
 
     @Operation(summary = "상품 수동 등록 (관리자용)", description = """
             관리자가 상품 정보를 직접 DB에 등록합니다.
@@ -46,12 +49,14 @@ public class ProductController {
             **[개인화 로직: 실시간 관심사 주입]**
             - **Page 0 요청 시:** 사용자(또는 세션)의 Redis 실시간 관심사(`interest:user:{id}`)를 분석하여, 
               관심 카테고리/효능에 해당하는 상품 **3개**를 목록 최상단에 자동으로 주입합니다.
+            - 관심사 점수는 시간이 지날수록 지수적으로 감소(반감기 24시간)하므로, 오래 전 관심사보다 최근 관심사가 우선됩니다.
             
             **[정렬 옵션 및 통계 정책]**
             - `latest`: 최신 등록순 (기본값)
             - `popular`: 인기순 (최근 30일 판매량 `recentSales` 기준 내림차순)
-               - **실시간 반영:** 주문/취소 발생 시 판매량이 **즉시 집계**되어 인기 순위에 바로 반영됩니다.
-               - **정합성 보정 (Scheduler):** 매일 자정(00:00)에 스케줄러가 실행되어, 정확히 '오늘 기준 최근 30일' 간의 판매량을 재계산(Calibration)하여 데이터 정확도를 유지합니다.
+               - **Redis 리더보드:** 판매량 순위는 Redis ZSet(`leaderboard:recent-sales:v2`, 점수에 상품ID를 포함해 동점은 ID 내림차순)에서 바로 조회하고, 해당 페이지 상품만 일괄 조회합니다. 알러지 필터는 상위 순위를 넉넉히 가져와 후처리하며, 깊은 페이지나 Redis 장애 시 DB 정렬로 대체됩니다.
+               - **준실시간 반영:** 주문/취소 발생 시 판매량이 메모리/Redis에 누적되어 **약 10초 이내** 인기 순위에 반영됩니다.
+               - **윈도우 이동 (Scheduler):** 판매량은 상품별 일일 버킷(`product_daily_sales`)에도 기록되며, 매일 자정(00:00) 30일 윈도우를 벗어난 날짜의 버킷만큼만 차감합니다. (해당 날짜에 팔린 상품만 갱신)
             """)
     @GetMapping
     public ResponseEntity<PagedModel<ProductResponseDto>> getAllProducts(
@@ -97,6 +102,7 @@ public class ProductController {
                - **로직:** Redis에 저장된 최근 클릭/장바구니 이력을 분석하여 관심 카테고리 상품을 추천합니다.
                - **개수:** 최대 **4개**
                - **메시지:** "최근 보신 '{카테고리}' 관련 상품"
+               - **Cold Start:** 관심사가 없거나 식별자(로그인/세션)가 없으면, 최근 1시간(없으면 24시간) **사이트 전체 인기 상품**으로 대체합니다. ("지금 많은 분들이 보고 있는 상품")
             2. **healthGoals (건강 목표):**
                - **대상:** 로그인 유저
                - **로직:** 설정한 건강 목표(예: '면역력 강화') 태그를 가진 상품을 추천합니다.
@@ -128,13 +134,33 @@ public class ProductController {
             identifier = sessionId;
             isLogin = false;
         } else {
-            // 둘 다 없으면 빈 객체 반환
-            return ResponseEntity.ok(new com.hyodream.backend.product.dto.RecommendationResponseDto());
+            // 둘 다 없으면 실시간 인기 상품(Cold Start)만 제공
+            identifier = "unknown";
         }
 
         return ResponseEntity.ok(productService.getRecommendedProducts(identifier, isLogin));
     }
 
+    @Operation(summary = "실시간 인기 카테고리/상품 (Trending)", description = """
+            사이트 전체 사용자의 최근 조회 이벤트를 기반으로 인기 카테고리와 상품을 조회합니다.
+
+            **[집계 방식]**
+            - 이벤트 스트림(`product-view-stream`) 소비 시 분 단위 버킷과 롤링 윈도우(ZSet)에 함께 누적됩니다.
+            - 매 분 윈도우를 벗어난 버킷을 차감하므로, 조회는 윈도우 크기와 관계없이 **상위 K개 조회 1회**로 끝납니다.
+            - `uniqueViewers`: 10분 단위 HyperLogLog를 합산한 **순 방문자 수 근사값**입니다.
+
+            **[파라미터]**
+            - `window`: `1h`(기본값) 또는 `24h`
+            - `size`: 카테고리/상품 각각 최대 개수 (최대 50)
+            """)
+    @GetMapping("/trending")
+    public ResponseEntity<TrendingResponseDto> getTrending(
+            @Parameter(description = "집계 기간 ('1h', '24h')") @RequestParam(defaultValue = "1h") String window,
+            @Parameter(description = "조회 개수") @RequestParam(defaultValue = "10") int size) {
+        int limit = Math.max(1, Math.min(size, 50));
+        return ResponseEntity.ok(trendingService.getTrending(TrendingService.Window.from(window), limit));
+    }
+
     @Operation(summary = "상품 키워드 검색 (통합 검색)", description = """
             네이버 쇼핑 API와 연동하여 상품을 검색하고 관리합니다.
 
@@ -1,5 +1,7 @@
 package com.hyodream.backend.product.controller;
 
+import com.hyodream.backend.product.domain.ReviewSort;
+import com.hyodream.backend.product.dto.ReviewPageResponseDto;
 import com.hyodream.backend.product.dto.ReviewRequestDto;
 import com.hyodream.backend.product.dto.ReviewResponseDto;
 import com.hyodream.backend.product.service.ReviewService;
@@ -7,9 +9,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name = "Review API", description = "상품 리뷰 등록 및 AI 분석 연동 API")
@@ -30,7 +34,7 @@ public class ReviewController {
             
             **[AI 연동: 자동 재분석 트리거]**
             - 리뷰 작성 시 해당 상품의 통계(리뷰 수, 평점)가 즉시 업데이트됩니다.
-            - **분석 조건:** 마지막 AI 분석 이후 **새로운 리뷰가 5개 이상** 쌓이면, 비동기(`Async`)로 AI 서버에 리뷰 감성 재분석 요청을 전송합니다.
+            - **분석 조건:** 마지막 AI 분석 이후 **새로운 리뷰가 5개 이상** 쌓이면, 분석 작업 큐에 재분석을 요청합니다. (같은 상품 요청은 합쳐지며, 상세 조회 중인 상품이 먼저 처리됩니다.)
             """)
     @PostMapping
     public ResponseEntity<String> createReview(
@@ -41,16 +45,32 @@ public class ReviewController {
     }
 
     @Operation(summary = "상품별 리뷰 목록 조회", description = """
-            특정 상품에 달린 모든 리뷰를 최신순으로 조회합니다.
+            특정 상품에 달린 리뷰를 페이지 단위로 조회합니다.
             
             **[데이터 출처]**
             - **HYODREAM:** 내부 회원이 직접 작성한 리뷰
             - **NAVER:** 네이버 쇼핑에서 크롤링한 외부 리뷰 (작성자 ID 마스킹 처리됨)
+            
+            **[정렬 (`sort`)]**
+            - `latest` (기본): 최신순
+            - `score`: 평점 높은순 (같은 평점은 최신순)
+            
+            **[페이지네이션 (키셋 방식)]**
+            - 첫 페이지는 커서 없이 요청합니다.
+            - `hasNext`가 `true`이면 `nextCursorDate`, `nextCursorId`를 그대로 전달합니다. 평점순이면 `nextCursorScore`도 함께 전달합니다.
+            - 리뷰가 수천 건인 상품도 페이지마다 조회 비용이 일정합니다. (페이지 크기 최대 50)
+            - 기본 크기(20)의 첫 페이지는 짧게 캐싱되어, 다른 서버에서 방금 작성된 리뷰는 최대 1분 늦게 보일 수 있습니다.
             """)
     @GetMapping("/products/{productId}")
-    public ResponseEntity<List<ReviewResponseDto>> getProductReviews(
-            @Parameter(description = "상품 ID") @PathVariable Long productId) {
-        return ResponseEntity.ok(reviewService.getReviewsByProductId(productId));
+    public ResponseEntity<ReviewPageResponseDto> getProductReviews(
+            @Parameter(description = "상품 ID") @PathVariable Long productId,
+            @Parameter(description = "정렬 기준 (latest, score)") @RequestParam(defaultValue = "latest") String sort,
+            @Parameter(description = "이전 페이지 마지막 리뷰의 작성 일시 (nextCursorDate)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @Parameter(description = "이전 페이지 마지막 리뷰 ID (nextCursorId)") @RequestParam(required = false) Long cursorId,
+            @Parameter(description = "이전 페이지 마지막 리뷰의 평점 (nextCursorScore, 평점순일 때)") @RequestParam(required = false) Integer cursorScore,
+            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getReviewsByProductId(productId, ReviewSort.from(sort),
+                cursorDate, cursorId, cursorScore, size));
     }
 
     @Operation(summary = "내가 쓴 리뷰 조회", description = "현재 로그인한 사용자가 작성한 모든 리뷰를 조회합니다.")
@@ -65,7 +85,7 @@ public class ReviewController {
             자신이 작성한 리뷰의 내용을 수정합니다.
             
             **[로직]**
-            - 평점(`score`)이 수정된 경우, 상품의 전체 평균 평점을 다시 계산하여 정확도를 유지합니다.
+            - 평점(`score`)이 수정된 경우, 상품의 평점 합계에 차이만 반영하고 평균 평점을 갱신합니다.
             """)
     @PutMapping("/{reviewId}")
     public ResponseEntity<String> updateReview(
@@ -79,7 +99,7 @@ public class ReviewController {
             자신이 작성한 리뷰를 삭제합니다.
             
             **[로직]**
-            - 리뷰 삭제 시 상품의 리뷰 카운트와 평균 평점이 갱신(감소/재계산)됩니다.
+            - 리뷰 삭제 시 상품의 리뷰 카운트와 평점 합계에서 차감되고 평균 평점이 갱신됩니다.
             """)
     @DeleteMapping("/{reviewId}")
     public ResponseEntity<String> deleteReview(
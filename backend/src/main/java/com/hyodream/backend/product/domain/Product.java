@@ -49,13 +49,28 @@ public class Product extends BaseTimeEntity {
     private String sizeInfo;
 
     // 통계 정보 (목록용)
+    // 판매량은 SalesCounter의 배치 UPDATE로만 갱신 (엔티티 저장 시 오래된 값으로 덮어쓰지 않도록)
+    @Column(updatable = false)
     private int totalSales = 0;
-    private int recentSales = 0; 
+    @Column(updatable = false)
+    private int recentSales = 0; // 최근 30일 (product_daily_sales 버킷 기준)
     
+    // 한정 수량 재고 (null이면 무제한). 주문/취소/관리자 설정 시 원자적 UPDATE로만 변경 (StockService)
+    @Column(updatable = false)
+    private Integer stockQuantity;
+
     // 리뷰 통계 (성능 최적화를 위해 역정규화)
+    // 리뷰 작성/수정/삭제 시 증분 UPDATE로만 갱신, 어긋난 값은 ReviewStatsReconciler가 주기적으로 보정
+    @Column(updatable = false)
     private long reviewCount = 0;
+    @Column(updatable = false)
+    private long reviewScoreSum = 0; // 평점 합계 (평균 = 합계 / 리뷰 수)
+    @Column(updatable = false)
     private double averageRating = 0.0;
 
+    // 실시간 관심사 키워드 (이벤트 수집 시 사용, 상품 등록/태그 변경 시 미리 계산)
+    private String interestCategory;
+
     // AI 분석 정보 (1:1 매핑)
     @OneToOne(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private ReviewAnalysis analysis;
@@ -0,0 +1,38 @@
+package com.hyodream.backend.product.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 상품별 일일 판매량 버킷 (최근 30일 판매량 recentSales를 증분으로 유지하기 위한 원천 데이터)
+// 쓰기는 SalesCounter의 배치 UPSERT로만 수행
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "product_daily_sales",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "product_id", "sales_date" }),
+        indexes = @Index(name = "idx_daily_sales_date", columnList = "sales_date"))
+public class ProductDailySales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate; // 주문일 (취소도 원래 주문일 버킷에서 차감)
+
+    @Column(nullable = false)
+    private int quantity;
+}
@@ -10,7 +10,14 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name = "reviews")
+// 상품별 리뷰 키셋 페이지네이션: 최신순 (product_id, created_at, id), 평점순 (product_id, score, created_at, id)
+// 평점순 인덱스는 통계 보정 시 리뷰 수/평점 합계 집계도 인덱스만으로 처리
+// 감성 인덱스는 증분 AI 분석 시 미분석 리뷰 조회와 상품별 긍정/부정 집계용
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_product_latest", columnList = "product_id, created_at, id"),
+        @Index(name = "idx_reviews_product_score_latest", columnList = "product_id, score, created_at, id"),
+        @Index(name = "idx_reviews_product_sentiment", columnList = "product_id, sentiment")
+})
 public class Review {
 
     @Id
@@ -48,6 +55,11 @@ public class Review {
     @Enumerated(EnumType.STRING)
     private ReviewRating rating;
 
+    // AI 감성 분석 결과 (null이면 다음 분석 때 AI로 전송, 내용이 수정되면 다시 null)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private ReviewSentiment sentiment;
+
     // 리뷰 첨부 이미지 URL 리스트
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "review_images", joinColumns = @JoinColumn(name = "review_id"))
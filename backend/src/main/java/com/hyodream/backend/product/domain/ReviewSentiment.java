@@ -0,0 +1,7 @@
+package com.hyodream.backend.product.domain;
+
+// AI 감성 분석 결과 (리뷰 단위, null이면 아직 분석 안 됨 / 수정 후 재분석 대기)
+public enum ReviewSentiment {
+    POSITIVE,
+    NEGATIVE
+}
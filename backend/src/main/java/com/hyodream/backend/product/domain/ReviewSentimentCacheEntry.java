@@ -0,0 +1,38 @@
+package com.hyodream.backend.product.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 리뷰 본문 해시 -> AI 감성 판정 캐시 (크롤링 리뷰에 "배송 빨라요" 같은 같은 문장이 많아 재분석 시 AI 호출 절감)
+// 쓰기/조회는 ReviewSentimentCache의 JDBC 배치로만 수행, 최대 개수를 넘으면 오래 안 쓰인 항목부터 정리
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "review_sentiment_cache",
+        indexes = @Index(name = "idx_sentiment_cache_last_used", columnList = "last_used_at"))
+public class ReviewSentimentCacheEntry {
+
+    // SHA-256(모델 버전 + 정규화된 본문) hex
+    @Id
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ReviewSentiment sentiment;
+
+    @Column(name = "hit_count", nullable = false)
+    private long hitCount;
+
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+}
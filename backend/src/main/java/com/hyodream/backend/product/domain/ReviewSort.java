@@ -0,0 +1,22 @@
+package com.hyodream.backend.product.domain;
+
+import java.util.Arrays;
+
+// 상품별 리뷰 목록 정렬 기준
+public enum ReviewSort {
+    LATEST("latest"), // 최신순 (작성일시, ID 내림차순)
+    SCORE("score"); // 평점 높은순 (평점, 작성일시, ID 내림차순)
+
+    private final String label;
+
+    ReviewSort(String label) {
+        this.label = label;
+    }
+
+    public static ReviewSort from(String label) {
+        return Arrays.stream(values())
+                .filter(s -> s.label.equalsIgnoreCase(label))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("지원하지 않는 정렬 기준입니다. (latest, score)"));
+    }
+}
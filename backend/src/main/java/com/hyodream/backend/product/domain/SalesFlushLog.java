@@ -0,0 +1,28 @@
+package com.hyodream.backend.product.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// MySQL에 반영한 판매량 델타 로그 배치 ID (반영과 같은 트랜잭션에서 기록 -> 같은 배치를 두 번 더하지 않음)
+// 쓰기는 SalesCounter의 JDBC로만 수행, 보관 기간이 지나면 자정 작업에서 정리
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "sales_flush_log",
+        indexes = @Index(name = "idx_sales_flush_log_flushed_at", columnList = "flushed_at"))
+public class SalesFlushLog {
+
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @Column(name = "flushed_at", nullable = false)
+    private LocalDateTime flushedAt;
+}
@@ -0,0 +1,28 @@
+package com.hyodream.backend.product.dto;
+
+import com.hyodream.backend.product.domain.EventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+public class EventBatchRequestDto {
+
+    @Schema(description = "클라이언트에 모아둔 이벤트 목록 (최대 100개)")
+    private List<EventItem> events;
+
+    @Getter
+    @Setter
+    public static class EventItem {
+        @Schema(description = "상품 ID", example = "10")
+        private Long productId;
+
+        @Schema(description = "이벤트 타입 (CLICK, LONG_VIEW, CART, ORDER)", example = "CLICK")
+        private EventType type = EventType.CLICK;
+
+        @Schema(description = "이벤트 발생 시각 (epoch ms, 없으면 서버 수신 시각)", example = "1733812200000")
+        private Long timestamp;
+    }
+}
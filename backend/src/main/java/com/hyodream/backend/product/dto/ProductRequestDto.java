@@ -48,6 +48,9 @@ public class ProductRequestDto {
     @Schema(description = "크기/규격 정보", example = "가로 20cm, 세로 10cm")
     private String sizeInfo;
 
+    @Schema(description = "한정 판매 수량 (생략하면 무제한)", example = "100")
+    private Integer stockQuantity;
+
     @Schema(description = "효능 태그 목록", example = "[\"면역력 강화\", \"피로 회복\"]")
     private List<String> healthBenefits;
 
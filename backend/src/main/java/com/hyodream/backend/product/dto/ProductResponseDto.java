@@ -74,6 +74,9 @@ public class ProductResponseDto {
     @Schema(description = "최근 판매량 (30일)", example = "120")
     private int recentSales;
 
+    @Schema(description = "남은 재고 (null이면 무제한)", example = "37")
+    private Integer stockQuantity;
+
     @Schema(description = "추천 사유", example = "최근 보신 '피자'와 비슷한 상품이에요")
     private String reason;
 
@@ -101,6 +104,7 @@ public class ProductResponseDto {
         this.allergens = product.getAllergens();
         this.totalSales = product.getTotalSales();
         this.recentSales = product.getRecentSales();
+        this.stockQuantity = product.getStockQuantity();
         
         this.reviewCount = product.getReviewCount();
         this.averageRating = product.getAverageRating();
@@ -0,0 +1,7 @@
+package com.hyodream.backend.product.dto;
+
+import com.hyodream.backend.product.domain.EventType;
+
+// 버퍼에 쌓이는 수집 이벤트 (관심사 키워드는 발행 시점에 일괄 결정)
+public record ProductViewEvent(String userId, Long productId, EventType type, long timestamp) {
+}
@@ -0,0 +1,5 @@
+package com.hyodream.backend.product.dto;
+
+// 리뷰 작성/수정/삭제 도메인 이벤트 본문 (아웃박스 JSON)
+public record ReviewEventPayload(Long reviewId, Long productId) {
+}
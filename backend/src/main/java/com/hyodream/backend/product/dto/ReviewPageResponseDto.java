@@ -0,0 +1,26 @@
+package com.hyodream.backend.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ReviewPageResponseDto {
+    @Schema(description = "리뷰 목록")
+    private List<ReviewResponseDto> reviews;
+
+    @Schema(description = "다음 페이지 여부", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "다음 페이지 요청 시 cursorDate로 전달할 값 (마지막 리뷰의 작성 일시)", example = "2025-12-10T14:30:00")
+    private LocalDateTime nextCursorDate;
+
+    @Schema(description = "다음 페이지 요청 시 cursorId로 전달할 값 (마지막 리뷰 ID)", example = "3021")
+    private Long nextCursorId;
+
+    @Schema(description = "다음 페이지 요청 시 cursorScore로 전달할 값 (평점순 정렬일 때만, 마지막 리뷰의 평점)", example = "4")
+    private Integer nextCursorScore;
+}
@@ -27,6 +27,11 @@ public class ReviewResponseDto {
     private LocalDateTime createdAt;
 
     public ReviewResponseDto(Review review, String productName) {
+        this(review, productName, review.getImages());
+    }
+
+    // 이미지를 미리 일괄 조회한 경우 (LAZY 컬렉션을 건드리지 않음)
+    public ReviewResponseDto(Review review, String productName, List<String> images) {
         this.id = review.getId();
         this.productId = review.getProductId();
         this.productName = productName;
@@ -48,7 +53,7 @@ public class ReviewResponseDto {
             this.ratingCode = "NONE";
         }
         
-        this.images = review.getImages();
+        this.images = images;
         this.createdAt = review.getCreatedAt();
     }
 }
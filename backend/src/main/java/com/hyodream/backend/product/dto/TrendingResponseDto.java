@@ -0,0 +1,52 @@
+package com.hyodream.backend.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "실시간 인기 카테고리/상품 응답")
+public class TrendingResponseDto {
+
+    @Schema(description = "집계 기간", example = "1h")
+    private String window;
+
+    @Schema(description = "인기 카테고리 (조회 수 내림차순)")
+    private List<TrendingCategory> categories;
+
+    @Schema(description = "인기 상품 (조회 수 내림차순)")
+    private List<TrendingProduct> products;
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TrendingCategory {
+        @Schema(description = "관심사 키워드 (카테고리/효능)", example = "관절 건강")
+        private String name;
+
+        @Schema(description = "기간 내 조회 수", example = "152")
+        private long views;
+
+        @Schema(description = "기간 내 순 방문자 수 (HyperLogLog 근사값)", example = "87")
+        private long uniqueViewers;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TrendingProduct {
+        @Schema(description = "상품 정보")
+        private ProductResponseDto product;
+
+        @Schema(description = "기간 내 조회 수", example = "48")
+        private long views;
+
+        @Schema(description = "기간 내 순 방문자 수 (HyperLogLog 근사값)", example = "31")
+        private long uniqueViewers;
+    }
+}
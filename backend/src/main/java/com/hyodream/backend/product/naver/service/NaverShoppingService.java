@@ -6,6 +6,9 @@ import com.hyodream.backend.product.domain.ProductStatus;
 import com.hyodream.backend.product.naver.dto.NaverShopItemDto;
 import com.hyodream.backend.product.naver.dto.NaverShopSearchResponse;
 import com.hyodream.backend.product.repository.ProductRepository;
+import com.hyodream.backend.product.service.InterestCategoryCache;
+import com.hyodream.backend.product.service.ProductNameCache;
+import com.hyodream.backend.product.service.SalesLeaderboard;
 import com.hyodream.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +33,9 @@ public class NaverShoppingService {
 
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final InterestCategoryCache interestCategoryCache;
+    private final ProductNameCache productNameCache;
+    private final SalesLeaderboard salesLeaderboard;
 
     @Value("${naver.client-id}")
     private String clientId;
@@ -103,6 +109,38 @@ public class NaverShoppingService {
         }
         return null;
     }
+
+    /**
+     * [EventController에서 사용]
+     * 상품 하나의 실시간 관심사 키워드(interest category)를 결정
+     * 1순위: 카테고리에서 유추한 효능이 실제 상품 효능 목록에 포함된 경우
+     * 2순위: 상품의 첫 번째 효능 태그
+     * 3순위: 가장 구체적인 카테고리명
+     */
+    public static String deriveInterestCategory(Product p) {
+        // 0. 가장 구체적인 카테고리 확보
+        String categoryToAnalyze = null;
+        if (p.getCategory4() != null && !p.getCategory4().isEmpty())
+            categoryToAnalyze = p.getCategory4();
+        else if (p.getCategory3() != null && !p.getCategory3().isEmpty())
+            categoryToAnalyze = p.getCategory3();
+        else if (p.getCategory2() != null && !p.getCategory2().isEmpty())
+            categoryToAnalyze = p.getCategory2();
+        else if (p.getCategory1() != null && !p.getCategory1().isEmpty())
+            categoryToAnalyze = p.getCategory1();
+
+        String deducedBenefit = (categoryToAnalyze != null) ? findPrimaryBenefit(categoryToAnalyze) : null;
+
+        if (deducedBenefit != null && p.getHealthBenefits() != null
+                && p.getHealthBenefits().contains(deducedBenefit)) {
+            return deducedBenefit;
+        }
+        if (p.getHealthBenefits() != null && !p.getHealthBenefits().isEmpty()) {
+            return p.getHealthBenefits().get(0);
+        }
+        // 효능을 찾지 못했다면 최후의 수단으로 카테고리 이름 자체를 사용
+        return categoryToAnalyze;
+    }
     // ==========================================
     // [통합] BenefitUtils 로직 끝
     // ==========================================
@@ -221,8 +259,19 @@ public class NaverShoppingService {
 
             product.setAllergens(detectedAllergens);
             product.setHealthBenefits(detectedBenefits);
-
-            savedProducts.add(productRepository.save(product));
+            // 태그가 바뀌었을 수 있으므로 관심사 키워드 재계산 + 캐시 무효화
+            product.setInterestCategory(Objects.requireNonNullElse(
+                    deriveInterestCategory(product), InterestCategoryCache.DEFAULT_CATEGORY));
+
+            boolean isNew = product.getId() == null;
+            Product saved = productRepository.save(product);
+            interestCategoryCache.evict(saved.getId());
+            if (isNew) {
+                salesLeaderboard.addNew(saved.getId()); // 인기순 목록에 0점으로 노출
+            } else {
+                productNameCache.evict(List.of(saved.getId())); // 재수집 시 상품명이 바뀌었을 수 있음
+            }
+            savedProducts.add(saved);
         }
         return savedProducts;
     }
@@ -0,0 +1,7 @@
+package com.hyodream.backend.product.repository;
+
+import com.hyodream.backend.product.domain.ProductDailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductDailySalesRepository extends JpaRepository<ProductDailySales, Long> {
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 import java.time.LocalDateTime;
@@ -61,6 +63,32 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsByName(String name);
 
+    // [Event] 관심사 키워드만 가볍게 조회 (EAGER 컬렉션 로딩 없이)
+    @Query("SELECT p.id, p.interestCategory FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findInterestCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [Order/Review] 상품명만 일괄 조회 (ProductNameCache 미스분) -> [상품ID, 상품명]
+    @Query("SELECT p.id, p.name FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [Review] AI 재분석 필요 여부 판단용 -> [리뷰 수, 마지막 분석 당시 리뷰 수(분석 이력 없으면 null)]
+    @Query("SELECT p.reviewCount, a.analyzedReviewCount FROM Product p LEFT JOIN p.analysis a WHERE p.id = :id")
+    List<Object[]> findReviewCountsForAnalysis(@Param("id") Long id);
+
+    // [Cart] 장바구니 화면용 상품 정보 일괄 조회 -> [상품ID, 상품명, 가격, 이미지, 재고(null이면 무제한)]
+    @Query("SELECT p.id, p.name, p.price, p.imageUrl, p.stockQuantity FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findCartInfoByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [Order] 주문 시 가격/재고만 가볍게 일괄 조회 (EAGER 컬렉션 로딩 없이) -> [상품ID, 가격, 재고(null이면 무제한)]
+    @Query("SELECT p.id, p.price, p.stockQuantity FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findPriceAndStockByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [Event] 미리 계산되지 않은 기존 상품의 관심사 키워드 저장
+    @Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE Product p SET p.interestCategory = :category WHERE p.id = :id")
+    int updateInterestCategory(@Param("id") Long id, @Param("category") String category);
+
     // 커스텀 정렬 & 필터링 쿼리
     // Filtering: 내 알레르기 리스트(:userAllergies)에 포함된 성분이 하나라도 있으면 제외
     // Sorting: 내 관심사(:interest)가 healthBenefits에 포함되면 우선순위 0 (상단), 아니면 1 (하단) ->
@@ -84,6 +112,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             @Param("userAllergies") List<String> userAllergies,
             Pageable pageable);
 
+    // [Leaderboard] 알러지 필터 적용 후 전체 상품 수 (인기순 리더보드 페이지의 totalElements)
+    @Query("SELECT COUNT(p) FROM Product p " +
+            "WHERE (:isLogin = false OR NOT EXISTS (SELECT 1 FROM p.allergens a WHERE a IN :userAllergies))")
+    long countWithPersonalization(
+            @Param("isLogin") boolean isLogin,
+            @Param("userAllergies") List<String> userAllergies);
+
+    // [Leaderboard] 검색어 포함 + 알러지 필터링 상품 ID만 조회 (정렬은 리더보드 점수로)
+    // pageable로 건수 제한 -> 넓은 검색어도 정렬 가능 건수를 넘는지만 확인하고 끝남
+    @Query("SELECT p.id FROM Product p " +
+            "WHERE p.name LIKE %:keyword% " +
+            "AND (:isLogin = false OR NOT EXISTS (SELECT 1 FROM p.allergens a WHERE a IN :userAllergies))")
+    List<Long> findIdsByNameContainingWithPersonalization(
+            @Param("keyword") String keyword,
+            @Param("isLogin") boolean isLogin,
+            @Param("userAllergies") List<String> userAllergies,
+            Pageable pageable);
+
     // 연관 상품 추천 (함께 많이 산 상품 TOP 5, 취소된 주문 제외)
     @Query(value = """
                 SELECT p.* FROM products p
@@ -190,4 +236,17 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     """, nativeQuery = true)
     int startSyncNative(@Param("productId") Long productId);
 
+    // [Review] 리뷰 통계 증분 반영 (리뷰 수/평점 합계를 더하고 같은 UPDATE 안에서 평균 재계산)
+    // MySQL 단일 테이블 UPDATE는 왼쪽부터 대입하므로 average_rating 계산 시 갱신된 값을 사용
+    @org.springframework.data.jpa.repository.Modifying
+    @Query(value = """
+        UPDATE products
+        SET review_count = review_count + :countDelta,
+            review_score_sum = review_score_sum + :scoreDelta,
+            average_rating = CASE WHEN review_count > 0 THEN ROUND(review_score_sum / review_count, 1) ELSE 0 END
+        WHERE id = :productId
+    """, nativeQuery = true)
+    int applyReviewDelta(@Param("productId") Long productId,
+            @Param("countDelta") int countDelta,
+            @Param("scoreDelta") int scoreDelta);
 }
@@ -1,7 +1,12 @@
 package com.hyodream.backend.product.repository;
 
 import com.hyodream.backend.product.domain.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -9,6 +14,61 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // 특정 상품의 리뷰 목록 조회
     List<Review> findByProductId(Long productId);
 
+    // 상품별 리뷰 첫 페이지 (최신순)
+    @Query("SELECT r FROM Review r WHERE r.productId = :productId " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findLatestByProductId(@Param("productId") Long productId, Pageable pageable);
+
+    // 상품별 리뷰 다음 페이지 (키셋: 이전 페이지 마지막 리뷰의 (작성일시, ID) 이후)
+    @Query("SELECT r FROM Review r WHERE r.productId = :productId " +
+            "AND (r.createdAt < :cursorDate OR (r.createdAt = :cursorDate AND r.id < :cursorId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findLatestByProductIdBefore(@Param("productId") Long productId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // 상품별 리뷰 첫 페이지 (평점 높은순, 같은 평점은 최신순)
+    @Query("SELECT r FROM Review r WHERE r.productId = :productId " +
+            "ORDER BY r.score DESC, r.createdAt DESC, r.id DESC")
+    List<Review> findTopScoredByProductId(@Param("productId") Long productId, Pageable pageable);
+
+    // 상품별 리뷰 다음 페이지 (키셋: 이전 페이지 마지막 리뷰의 (평점, 작성일시, ID) 이후)
+    @Query("SELECT r FROM Review r WHERE r.productId = :productId " +
+            "AND (r.score < :cursorScore OR (r.score = :cursorScore " +
+            "AND (r.createdAt < :cursorDate OR (r.createdAt = :cursorDate AND r.id < :cursorId)))) " +
+            "ORDER BY r.score DESC, r.createdAt DESC, r.id DESC")
+    List<Review> findTopScoredByProductIdBefore(@Param("productId") Long productId,
+            @Param("cursorScore") int cursorScore,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // 리뷰 첨부 이미지 일괄 조회 (리뷰마다 LAZY 컬렉션을 읽지 않도록) -> [리뷰ID, 이미지 URL]
+    @Query("SELECT r.id, i FROM Review r JOIN r.images i WHERE r.id IN :reviewIds")
+    List<Object[]> findImagesByReviewIdIn(@Param("reviewIds") Collection<Long> reviewIds);
+
+    // [AI 분석] 아직 감성 분석되지 않은(새로 작성/수정된) 리뷰 일괄 조회 -> [리뷰ID, 상품ID, 본문]
+    @Query("SELECT r.id, r.productId, r.content FROM Review r " +
+           "WHERE r.productId IN :productIds AND r.sentiment IS NULL " +
+           "AND r.content IS NOT NULL AND TRIM(r.content) <> '' ORDER BY r.productId, r.id")
+    List<Object[]> findPendingSentimentByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // [AI 분석] 상품별 감성 집계 -> [상품ID, 감성, 리뷰 수]
+    @Query("SELECT r.productId, r.sentiment, COUNT(r) FROM Review r " +
+           "WHERE r.productId IN :productIds AND r.sentiment IS NOT NULL GROUP BY r.productId, r.sentiment")
+    List<Object[]> countSentimentsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // [AI 분석] 재분석 필요 여부 판단용 -> [미분석 리뷰 수, 분석된 리뷰 수]
+    @Query("SELECT COALESCE(SUM(CASE WHEN r.sentiment IS NULL THEN 1 ELSE 0 END), 0), COUNT(r.sentiment) FROM Review r " +
+           "WHERE r.productId = :productId AND r.content IS NOT NULL AND TRIM(r.content) <> ''")
+    List<Object[]> countSentimentProgressByProductId(@Param("productId") Long productId);
+
+    // [AI 분석] 전체 재분석 (관리자): 상품의 모든 리뷰 감성 결과 초기화
+    @org.springframework.data.jpa.repository.Modifying
+    @Query(value = "UPDATE reviews SET sentiment = NULL WHERE product_id = :productId", nativeQuery = true)
+    int clearSentimentsByProductId(@Param("productId") Long productId);
+
     // 내가 쓴 리뷰 목록 조회 (마이페이지용)
     List<Review> findByUserId(Long userId);
 
@@ -0,0 +1,167 @@
+package com.hyodream.backend.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyodream.backend.global.outbox.AtomicDomainEventHandler;
+import com.hyodream.backend.global.outbox.DomainEvent;
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.order.dto.OrderEventPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 함께 구매한 상품 모델 (연관 상품 추천용)
+ * - copurchase:{productId} (ZSet) 같은 주문에 함께 담긴 상품ID -> 함께 구매된 주문 수
+ * - 주문 완료 이벤트마다 상품 쌍을 양방향으로 +1, 취소 시 -1 (주문 테이블 self-join 집계 쿼리를 대체)
+ *   증감은 이벤트 처리 완료 표시와 함께 Lua 한 번에 기록 (재전달 시 이중 반영 방지)
+ * - 이벤트 도입 전 주문은 최초 1회 주문 테이블에서 역적재 (집계가 일부만 있는 상품이 과거 구매 이력을 잃지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoPurchaseService implements AtomicDomainEventHandler {
+
+    private static final String KEY_PREFIX = "copurchase:";
+    // 상품이 아주 많은 주문은 쌍 개수가 제곱으로 늘어나므로 앞쪽 상품까지만 반영
+    private static final int MAX_ITEMS_PER_ORDER = 20;
+
+    private static final String BACKFILL_LOCK_KEY = "copurchase:backfill:lock";
+    private static final String BACKFILL_DONE_KEY = "copurchase:backfill:done";
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+    // 완료 주문의 상품 쌍별 함께 구매된 주문 수 (양방향 모두 나옴)
+    private static final String BACKFILL_PAIRS_SQL = """
+            SELECT a.product_id, b.product_id, COUNT(DISTINCT a.order_id)
+            FROM order_items a
+            JOIN order_items b ON b.order_id = a.order_id AND b.product_id <> a.product_id
+            JOIN orders o ON o.id = a.order_id
+            WHERE o.status = 'ORDER'
+            GROUP BY a.product_id, b.product_id
+            """;
+
+    // 완료 표시를 선점한 경우에만 상품 쌍 증감 (KEYS[1] 완료 표시, KEYS[i] copurchase:{ARGV[i + 1]}, ARGV: TTL초, 증감, 상품ID...)
+    private static final RedisScript<Long> RECORD_PAIRS_SCRIPT = RedisScript.of("""
+            if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[1]) then
+                return 0
+            end
+            local delta = tonumber(ARGV[2])
+            for i = 2, #KEYS do
+                for j = 3, #ARGV do
+                    if j ~= i + 1 then
+                        redis.call('ZINCRBY', KEYS[i], delta, ARGV[j])
+                    end
+                end
+                if delta < 0 then
+                    redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', 0)
+                end
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String name() {
+        return "co-purchase";
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.ORDER_PLACED || type == DomainEventType.ORDER_CANCELED;
+    }
+
+    @Override
+    public boolean handle(DomainEvent event, String doneKey, Duration doneTtl) throws Exception {
+        OrderEventPayload order = objectMapper.readValue(event.payload(), OrderEventPayload.class);
+        List<Long> productIds = new ArrayList<>(order.countsByProduct().keySet());
+        if (productIds.size() < 2) {
+            return true; // 반영할 쌍 없음 (재전달돼도 결과 같음)
+        }
+        List<Long> items = productIds.subList(0, Math.min(productIds.size(), MAX_ITEMS_PER_ORDER));
+
+        List<String> keys = new ArrayList<>(items.size() + 1);
+        List<String> args = new ArrayList<>(items.size() + 2);
+        keys.add(doneKey);
+        args.add(String.valueOf(doneTtl.toSeconds()));
+        args.add(event.type() == DomainEventType.ORDER_PLACED ? "1" : "-1");
+        for (Long productId : items) {
+            keys.add(KEY_PREFIX + productId);
+            args.add(productId.toString());
+        }
+        Long claimed = redisTemplate.execute(RECORD_PAIRS_SCRIPT, keys, args.toArray());
+        return claimed != null && claimed == 1;
+    }
+
+    // 기존 주문 역적재: 주문 테이블 기준 쌍별 주문 수로 덮어씀 (ZADD, 그 시점까지 이벤트로 쌓인 값도 DB에 포함돼 있음)
+    // 역적재 도중 처리된 주문 이벤트는 1건 차이가 날 수 있음 (추천 순위용이라 허용)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(BACKFILL_DONE_KEY))) {
+            return;
+        }
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(BACKFILL_LOCK_KEY, "1", Duration.ofMinutes(30));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+
+        try {
+            List<Object[]> chunk = new ArrayList<>(BACKFILL_CHUNK_SIZE);
+            long[] total = { 0 };
+            jdbcTemplate.query(BACKFILL_PAIRS_SQL, rs -> {
+                chunk.add(new Object[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) });
+                if (chunk.size() >= BACKFILL_CHUNK_SIZE) {
+                    total[0] += writePairs(chunk);
+                }
+            });
+            total[0] += writePairs(chunk);
+
+            redisTemplate.opsForValue().set(BACKFILL_DONE_KEY, "1");
+            log.info("🛒 Co-purchase backfill finished ({} product pairs)", total[0]);
+        } catch (Exception e) {
+            log.error("⚠️ Co-purchase backfill failed (will retry on next start): {}", e.getMessage());
+        } finally {
+            redisTemplate.delete(BACKFILL_LOCK_KEY);
+        }
+    }
+
+    // [상품ID, 함께 구매된 상품ID, 주문 수] 파이프라인 ZADD 후 비움
+    private int writePairs(List<Object[]> pairs) {
+        if (pairs.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (Object[] pair : pairs) {
+                conn.zAdd(KEY_PREFIX + pair[0], (Long) pair[2], pair[1].toString());
+            }
+            return null;
+        });
+        int written = pairs.size();
+        pairs.clear();
+        return written;
+    }
+
+    // 함께 많이 구매된 상품ID (많은 순), 집계된 적이 없으면 null
+    public List<Long> relatedProductIds(Long productId, int k) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(KEY_PREFIX + productId, 0, k - 1);
+        if (members == null || members.isEmpty()) {
+            return null;
+        }
+        return members.stream().map(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,271 @@
+package com.hyodream.backend.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyodream.backend.global.util.MpmcRingBuffer;
+import com.hyodream.backend.product.dto.ProductViewEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 이벤트 수집용 인메모리 링 버퍼
+ * - 요청 스레드는 버퍼에 넣기만 하고 즉시 반환 (Redis 장애가 UI/Tomcat 스레드로 번지지 않음)
+ * - 전용 drainer 스레드가 모아서 관심사 키워드를 일괄 결정한 뒤 파이프라인 XADD로 발행
+ *   (스트림은 event.stream.max-length 근처로 근사 trim -> ACK된 이벤트가 끝없이 쌓이지 않음)
+ * - 버퍼가 가득 차면 설정된 정책에 따라 가장 오래된 이벤트를 버리거나(DROP_OLDEST) 디스크에 임시 저장(SPILL_TO_DISK)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventBuffer {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        SPILL_TO_DISK
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final InterestCategoryCache interestCategoryCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${event.buffer.capacity:16384}")
+    private int capacity;
+
+    @Value("${event.buffer.drain-batch-size:500}")
+    private int drainBatchSize;
+
+    @Value("${event.buffer.drain-interval-ms:20}")
+    private long drainIntervalMs;
+
+    @Value("${event.buffer.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${event.buffer.spill-path:/tmp/hyodream/event-spill.log}")
+    private String spillPath;
+
+    @Value("${event.stream.max-length:500000}")
+    private long streamMaxLength;
+
+    private final ExecutorService drainer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "event-buffer-drainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object spillLock = new Object();
+
+    private MpmcRingBuffer<ProductViewEvent> ring;
+    private volatile boolean running;
+    private long nextReplayAt; // drainer 스레드 전용
+
+    private Counter publishedCounter;
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+
+    @PostConstruct
+    public void start() {
+        ring = new MpmcRingBuffer<>(capacity);
+
+        Gauge.builder("event.buffer.depth", ring, MpmcRingBuffer::size)
+                .description("발행 대기 중인 이벤트 수")
+                .register(meterRegistry);
+        publishedCounter = Counter.builder("event.buffer.published")
+                .description("Redis Stream으로 발행된 이벤트 수")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("event.buffer.dropped")
+                .description("버퍼가 가득 차서 버려진 이벤트 수")
+                .register(meterRegistry);
+        spilledCounter = Counter.builder("event.buffer.spilled")
+                .description("버퍼가 가득 차서 디스크에 임시 저장된 이벤트 수")
+                .register(meterRegistry);
+
+        running = true;
+        drainer.submit(this::drainLoop);
+        log.info("📥 Event buffer started (capacity: {}, policy: {})", ring.capacity(), overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        drainer.shutdown();
+        drainer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // 요청 스레드에서 호출: 락/IO 없이 버퍼에 넣고 바로 반환
+    public void offer(ProductViewEvent event) {
+        if (ring.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL_TO_DISK) {
+            spill(List.of(event));
+            return;
+        }
+        // DROP_OLDEST: 가장 오래된 이벤트를 밀어내고 자리를 만듦
+        while (!ring.offer(event)) {
+            if (ring.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running || ring.size() > 0) {
+            try {
+                List<ProductViewEvent> batch = new ArrayList<>(drainBatchSize);
+                ProductViewEvent event;
+                while (batch.size() < drainBatchSize && (event = ring.poll()) != null) {
+                    batch.add(event);
+                }
+
+                if (!batch.isEmpty()) {
+                    publishOrRequeue(batch);
+                } else if (!replaySpill()) {
+                    Thread.sleep(drainIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("⚠️ Event buffer drain error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void publishOrRequeue(List<ProductViewEvent> batch) throws InterruptedException {
+        try {
+            publish(batch);
+        } catch (Exception e) {
+            log.error("⚠️ Event publish failed ({} events): {}", batch.size(), e.getMessage());
+            if (overflowPolicy == OverflowPolicy.SPILL_TO_DISK) {
+                spill(batch);
+            } else {
+                batch.forEach(this::offer);
+            }
+            Thread.sleep(1000); // Redis 장애 시 재시도 간격
+        }
+    }
+
+    // 관심사 키워드 일괄 결정 + 파이프라인 XADD
+    private void publish(List<ProductViewEvent> batch) {
+        Set<Long> productIds = batch.stream().map(ProductViewEvent::productId).collect(Collectors.toSet());
+        Map<Long, String> categories = interestCategoryCache.getAll(productIds);
+
+        XAddOptions options = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (ProductViewEvent e : batch) {
+                Map<String, String> fields = new HashMap<>();
+                fields.put("userId", e.userId());
+                fields.put("productId", e.productId().toString());
+                fields.put("category", categories.getOrDefault(e.productId(), InterestCategoryCache.DEFAULT_CATEGORY));
+                fields.put("type", e.type().name());
+                fields.put("timestamp", String.valueOf(e.timestamp()));
+                conn.xAdd(StreamRecords.string(fields).withStreamKey(StreamConsumer.STREAM_KEY), options);
+            }
+            return null;
+        });
+        publishedCounter.increment(batch.size());
+    }
+
+    // 넘친 이벤트를 JSON Line으로 디스크에 추가 (넘칠 때만 타는 경로이므로 락 사용)
+    private void spill(List<ProductViewEvent> events) {
+        synchronized (spillLock) {
+            Path path = Path.of(spillPath);
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (ProductViewEvent e : events) {
+                        writer.write(objectMapper.writeValueAsString(e));
+                        writer.newLine();
+                    }
+                }
+                spilledCounter.increment(events.size());
+            } catch (IOException e) {
+                droppedCounter.increment(events.size());
+                log.error("⚠️ Event spill failed, {} events dropped: {}", events.size(), e.getMessage());
+            }
+        }
+    }
+
+    // 버퍼가 비었을 때 디스크에 쌓인 이벤트를 다시 발행. 재발행할 게 있었으면 true
+    private boolean replaySpill() {
+        if (System.currentTimeMillis() < nextReplayAt) {
+            return false;
+        }
+        Path path = Path.of(spillPath);
+        Path replayPath = Path.of(spillPath + ".replay");
+
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(replayPath)) {
+                    if (!Files.exists(path)) {
+                        return false;
+                    }
+                    Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            List<ProductViewEvent> batch = new ArrayList<>(drainBatchSize);
+            int replayed = 0;
+            try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(objectMapper.readValue(line, ProductViewEvent.class));
+                    if (batch.size() >= drainBatchSize) {
+                        publish(batch);
+                        replayed += batch.size();
+                        batch = new ArrayList<>(drainBatchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                publish(batch);
+                replayed += batch.size();
+            }
+            Files.delete(replayPath);
+            log.info("📤 Replayed {} spilled events", replayed);
+            return true;
+        } catch (Exception e) {
+            // 실패 시 .replay 파일을 남겨두고 다음 기회에 다시 시도 (일부 중복 발행 가능)
+            log.error("⚠️ Spill replay failed: {}", e.getMessage());
+            nextReplayAt = System.currentTimeMillis() + 5000;
+            return false;
+        }
+    }
+}
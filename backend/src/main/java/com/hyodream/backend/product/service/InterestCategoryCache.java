@@ -0,0 +1,116 @@
+package com.hyodream.backend.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hyodream.backend.product.domain.Product;
+import com.hyodream.backend.product.naver.service.NaverShoppingService;
+import com.hyodream.backend.product.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 상품ID -> 실시간 관심사 키워드 로컬 캐시
+ * - 이벤트 수집(Hot Path)에서 상품 엔티티(EAGER 효능/알러지 컬렉션 포함)를 매번 읽지 않도록 함
+ * - 값은 상품 등록/Import 시점에 Product.interestCategory로 미리 계산되어 있고, 캐시 미스 시 해당 컬럼만 조회
+ * - 상품 태그가 바뀌면 커밋 이후 evict
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InterestCategoryCache {
+
+    public static final String DEFAULT_CATEGORY = "기타";
+
+    private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${interest.category-cache.max-size:50000}")
+    private long maxSize;
+
+    private Cache<Long, String> cache;
+
+    @PostConstruct
+    public void init() {
+        // 다른 노드에서 태그가 바뀐 경우를 대비해 쓰기 후 1시간이 지나면 만료
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "interestCategory");
+    }
+
+    public String get(Long productId) {
+        return getAll(List.of(productId)).getOrDefault(productId, DEFAULT_CATEGORY);
+    }
+
+    // 여러 상품의 관심사 키워드를 한 번에 조회 (캐시 미스분만 DB 1회 조회)
+    public Map<Long, String> getAll(Collection<Long> productIds) {
+        return cache.getAll(productIds, this::loadAll);
+    }
+
+    // 상품 태그/카테고리가 바뀐 경우 호출 (트랜잭션 안이면 커밋 이후에 evict)
+    public void evict(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(productId);
+                }
+            });
+        } else {
+            cache.invalidate(productId);
+        }
+    }
+
+    private Map<Long, String> loadAll(Set<? extends Long> productIds) {
+        Map<Long, String> result = new HashMap<>();
+        List<Long> notComputed = new ArrayList<>();
+
+        for (Object[] row : productRepository.findInterestCategoriesByIdIn(new ArrayList<>(productIds))) {
+            Long id = (Long) row[0];
+            String category = (String) row[1];
+            if (category == null) {
+                notComputed.add(id);
+            } else {
+                result.put(id, category);
+            }
+        }
+
+        // 컬럼 추가 이전에 저장된 상품: 한 번만 계산해서 저장 (이후에는 캐시/컬럼에서 조회)
+        if (!notComputed.isEmpty()) {
+            for (Product p : productRepository.findAllById(notComputed)) {
+                String category = Objects.requireNonNullElse(
+                        NaverShoppingService.deriveInterestCategory(p), DEFAULT_CATEGORY);
+                productRepository.updateInterestCategory(p.getId(), category);
+                result.put(p.getId(), category);
+            }
+            log.info("🏷️ Backfilled interest category for {} products", notComputed.size());
+        }
+
+        // 존재하지 않는 상품도 기본값으로 캐싱 (반복 조회 방지)
+        for (Long id : productIds) {
+            result.putIfAbsent(id, DEFAULT_CATEGORY);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package com.hyodream.backend.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 실시간 관심사 점수 (지수 감쇠 모델)
+ * - interest:user:{id}    (ZSet)  카테고리 -> 마지막 갱신 시점 기준 점수
+ * - interest:user:{id}:ts (Hash)  카테고리 -> 마지막 갱신 시각(epoch 초)
+ * - 현재 점수 = 저장된 점수 * exp(-λ * 경과 시간), λ = ln2 / 반감기
+ * - 증가 시에는 Redis 안에서(Lua) 감쇠 후 가산하여 다시 저장, 조회 시에는 읽는 순간 감쇠 적용 (주기적 전체 재계산 없음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InterestService {
+
+    public static final String KEY_PREFIX = "interest:user:";
+    private static final String TS_SUFFIX = ":ts";
+
+    // KEYS[1] = 점수 ZSet, KEYS[2] = 갱신 시각 Hash / ARGV[1] = 현재 시각(초), ARGV[2] = λ, ARGV[3] = 최소 점수
+    // 감쇠된 점수가 가장 높은 카테고리 반환 (최소 점수 미만이면 nil)
+    private static final RedisScript<String> TOP_INTEREST_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local lambda = tonumber(ARGV[2])
+            local best = false
+            local bestScore = tonumber(ARGV[3])
+            local members = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+            for j = 1, #members, 2 do
+                local ts = tonumber(redis.call('HGET', KEYS[2], members[j]) or now)
+                local score = tonumber(members[j + 1]) * math.exp(-lambda * math.max(0, now - ts))
+                if score >= bestScore then
+                    best = members[j]
+                    bestScore = score
+                end
+            end
+            return best
+            """, String.class);
+
+    // KEYS[1..2] = 세션 (ZSet, Hash), KEYS[3..4] = 유저 (ZSet, Hash) / ARGV[1] = 현재 시각(초), ARGV[2] = λ, ARGV[3] = GC TTL(초)
+    // 양쪽 점수를 모두 현재 시각 기준으로 감쇠시킨 뒤 합산, 세션 키는 삭제
+    private static final RedisScript<Long> MERGE_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local lambda = tonumber(ARGV[2])
+            local ttl = tonumber(ARGV[3])
+            local members = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+            for j = 1, #members, 2 do
+                local member = members[j]
+                local srcTs = tonumber(redis.call('HGET', KEYS[2], member) or now)
+                local score = tonumber(members[j + 1]) * math.exp(-lambda * math.max(0, now - srcTs))
+                local dst = redis.call('ZSCORE', KEYS[3], member)
+                if dst then
+                    local dstTs = tonumber(redis.call('HGET', KEYS[4], member) or now)
+                    score = score + tonumber(dst) * math.exp(-lambda * math.max(0, now - dstTs))
+                end
+                redis.call('ZADD', KEYS[3], score, member)
+                redis.call('HSET', KEYS[4], member, now)
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            if #members > 0 then
+                redis.call('EXPIRE', KEYS[3], ttl)
+                redis.call('EXPIRE', KEYS[4], ttl)
+            end
+            return #members / 2
+            """, Long.class);
+
+    @Value("${interest.decay.half-life-hours:24}")
+    private double halfLifeHours;
+
+    // 감쇠 모델에서는 TTL이 신선도가 아니라 오래 방치된 키 정리(GC) 용도
+    @Value("${interest.decay.gc-ttl-hours:168}")
+    private long gcTtlHours;
+
+    @Value("${interest.decay.min-score:0.5}")
+    private double minScore;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public String scoreKey(String identifier) {
+        return KEY_PREFIX + identifier;
+    }
+
+    public String timestampKey(String identifier) {
+        return KEY_PREFIX + identifier + TS_SUFFIX;
+    }
+
+    // 초당 감쇠율 λ
+    public double decayRate() {
+        return Math.log(2) / Duration.ofMinutes(Math.round(halfLifeHours * 60)).toSeconds();
+    }
+
+    public long gcTtlSeconds() {
+        return Duration.ofHours(gcTtlHours).toSeconds();
+    }
+
+    public static double nowSeconds() {
+        return System.currentTimeMillis() / 1000.0;
+    }
+
+    // 비로그인 세션에서 쌓은 관심사를 로그인 유저 프로필로 원자적으로 병합 (병합된 카테고리 수 반환)
+    public long mergeSessionIntoUser(String sessionId, String username) {
+        Long merged = redisTemplate.execute(MERGE_SCRIPT,
+                List.of(scoreKey(sessionId), timestampKey(sessionId), scoreKey(username), timestampKey(username)),
+                String.valueOf(nowSeconds()), String.valueOf(decayRate()), String.valueOf(gcTtlSeconds()));
+        return merged == null ? 0 : merged;
+    }
+
+    // 현재 시점 기준(감쇠 적용) 가장 관심이 높은 카테고리, 없거나 충분히 식었으면 null
+    public String topInterest(String identifier) {
+        if (identifier == null || identifier.equals("unknown")) {
+            return null;
+        }
+        return redisTemplate.execute(TOP_INTEREST_SCRIPT,
+                List.of(scoreKey(identifier), timestampKey(identifier)),
+                String.valueOf(nowSeconds()), String.valueOf(decayRate()), String.valueOf(minScore));
+    }
+}
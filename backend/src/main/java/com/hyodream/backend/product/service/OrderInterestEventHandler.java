@@ -0,0 +1,81 @@
+package com.hyodream.backend.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyodream.backend.global.outbox.AtomicDomainEventHandler;
+import com.hyodream.backend.global.outbox.DomainEvent;
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.order.dto.OrderEventPayload;
+import com.hyodream.backend.product.domain.EventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 주문 완료 -> 구매한 상품들을 ORDER 이벤트로 관심사 스트림에 발행 (점수 반영/트렌딩은 기존 StreamConsumer가 처리)
+// 발행은 이벤트 처리 완료 표시와 함께 Lua 한 번에 기록 (재전달 시 같은 구매가 관심사 점수에 두 번 반영되지 않도록)
+@Component
+@RequiredArgsConstructor
+public class OrderInterestEventHandler implements AtomicDomainEventHandler {
+
+    // 완료 표시를 선점한 경우에만 발행 (KEYS[1] 완료 표시, KEYS[2] 스트림,
+    // ARGV: TTL초, 회원, 이벤트 종류, 시각, 스트림 최대 길이, [상품ID, 카테고리]...)
+    private static final RedisScript<Long> PUBLISH_SCRIPT = RedisScript.of("""
+            if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[1]) then
+                return 0
+            end
+            for i = 6, #ARGV, 2 do
+                redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[5], '*', 'userId', ARGV[2], 'productId', ARGV[i],
+                        'category', ARGV[i + 1], 'type', ARGV[3], 'timestamp', ARGV[4])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final InterestCategoryCache interestCategoryCache;
+    private final ObjectMapper objectMapper;
+
+    // EventBuffer와 같은 스트림이므로 같은 설정으로 근사 trim
+    @Value("${event.stream.max-length:500000}")
+    private long streamMaxLength;
+
+    @Override
+    public String name() {
+        return "interest";
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.ORDER_PLACED;
+    }
+
+    @Override
+    public boolean handle(DomainEvent event, String doneKey, Duration doneTtl) throws Exception {
+        OrderEventPayload order = objectMapper.readValue(event.payload(), OrderEventPayload.class);
+        if (order.username() == null) {
+            return true; // 비회원 주문은 관심사 없음
+        }
+        Map<Long, Integer> counts = order.countsByProduct();
+        Map<Long, String> categories = interestCategoryCache.getAll(counts.keySet());
+        long timestamp = order.orderDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(doneTtl.toSeconds()));
+        args.add(order.username());
+        args.add(EventType.ORDER.name());
+        args.add(String.valueOf(timestamp));
+        args.add(String.valueOf(streamMaxLength));
+        for (Long productId : counts.keySet()) {
+            args.add(productId.toString());
+            args.add(categories.getOrDefault(productId, InterestCategoryCache.DEFAULT_CATEGORY));
+        }
+        Long claimed = redisTemplate.execute(PUBLISH_SCRIPT, List.of(doneKey, StreamConsumer.STREAM_KEY), args.toArray());
+        return claimed != null && claimed == 1;
+    }
+}
@@ -0,0 +1,87 @@
+package com.hyodream.backend.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hyodream.backend.product.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품ID -> 상품명 로컬 캐시 (주문 내역, 리뷰 목록 등 이름만 필요한 화면용)
+ * - 상품 엔티티(EAGER 효능/알러지 컬렉션 포함)를 읽지 않고 이름 컬럼만 일괄 조회
+ * - 삭제된 상품은 캐싱하지 않음 -> 결과 Map에 없으면 호출부에서 대체 문구 사용
+ * - 상품명이 바뀌거나 삭제되면 커밋 이후 evict
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductNameCache {
+
+    private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.name-cache.max-size:50000}")
+    private long maxSize;
+
+    private Cache<Long, String> cache;
+
+    @PostConstruct
+    public void init() {
+        // 다른 노드에서 이름이 바뀐 경우를 대비해 쓰기 후 1시간이 지나면 만료
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productName");
+    }
+
+    public String get(Long productId, String fallback) {
+        return getAll(List.of(productId)).getOrDefault(productId, fallback);
+    }
+
+    // 여러 상품명을 한 번에 조회 (캐시 미스분만 DB 1회 조회)
+    public Map<Long, String> getAll(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(productIds, this::loadAll);
+    }
+
+    // 상품명이 바뀌거나 상품이 삭제된 경우 호출 (트랜잭션 안이면 커밋 이후에 evict)
+    public void evict(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(productIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(productIds);
+        }
+    }
+
+    private Map<Long, String> loadAll(Set<? extends Long> productIds) {
+        Map<Long, String> result = new HashMap<>();
+        for (Object[] row : productRepository.findNamesByIdIn(List.copyOf(productIds))) {
+            result.put((Long) row[0], (String) row[1]);
+        }
+        return result;
+    }
+}
@@ -1,6 +1,5 @@
 package com.hyodream.backend.product.service;
 
-import com.hyodream.backend.order.repository.OrderItemRepository;
 import com.hyodream.backend.product.domain.Product;
 import com.hyodream.backend.product.domain.ProductStatus;
 import com.hyodream.backend.product.domain.SearchLog;
@@ -14,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -22,34 +22,19 @@ import java.util.List;
 public class ProductScheduler {
 
     private final ProductRepository productRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final SalesCounter salesCounter;
+    private final SalesLeaderboard salesLeaderboard;
+    private final ProductNameCache productNameCache;
     private final SearchLogRepository searchLogRepository;
     private final NaverShoppingService naverShoppingService;
+    private final ReviewStatsReconciler reviewStatsReconciler;
 
-    // 매일 자정: 최근 판매량 집계
+    // 매일 자정: 최근 30일 판매량 윈도우 이동 (만료된 날짜의 일일 버킷만큼 차감, 해당 상품만 갱신)
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
     public void updateRecentSales() {
-        log.info("🔄 [스케줄러] 최근 한 달 판매량 업데이트 시작...");
-
-        List<Product> allProducts = productRepository.findAll();
-        for (Product p : allProducts) {
-            p.setRecentSales(0);
-        }
-
-        LocalDateTime oneMonthAgo = LocalDateTime.now().minusDays(30);
-        List<Object[]> salesData = orderItemRepository.countSalesByProductSince(oneMonthAgo);
-
-        for (Object[] row : salesData) {
-            Long productId = (Long) row[0];
-            Long countLong = (Long) row[1];
-            int count = countLong.intValue();
-
-            productRepository.findById(productId).ifPresent(product -> {
-                product.setRecentSales(count);
-            });
-        }
-        log.info("✅ [스케줄러] 판매량 업데이트 완료!");
+        log.info("🔄 [스케줄러] 최근 한 달 판매량 윈도우 이동 시작...");
+        salesCounter.rollRecentSalesWindow();
+        log.info("✅ [스케줄러] 판매량 윈도우 이동 완료!");
     }
 
     // 매일 새벽 3시: 오래된 검색어 재검색 (데이터 최신화)
@@ -82,6 +67,14 @@ public class ProductScheduler {
         log.info("✅ [스케줄러] {}개 키워드 최신화 완료!", updatedCount);
     }
 
+    // 매일 새벽 3시 30분: 상품 리뷰 통계 보정 (증분 갱신 중 어긋난 값을 리뷰 집계 기준으로 바로잡음)
+    @Scheduled(cron = "0 30 3 * * *")
+    public void reconcileReviewStats() {
+        log.info("🔄 [스케줄러] 리뷰 통계 보정 시작...");
+        int corrected = reviewStatsReconciler.reconcile();
+        log.info("✅ [스케줄러] 리뷰 통계 보정 완료! (보정: {}건)", corrected);
+    }
+
     // 매일 새벽 4시: 오랫동안 업데이트 안 된 상품 정리 (Garbage Collection)
     @Scheduled(cron = "0 0 4 * * *")
     @Transactional
@@ -94,6 +87,7 @@ public class ProductScheduler {
 
         int deletedCount = 0;
         int stoppedCount = 0;
+        List<Long> deletedIds = new ArrayList<>();
 
         for (Product p : oldProducts) {
             if (p.getTotalSales() > 0) {
@@ -103,9 +97,19 @@ public class ProductScheduler {
                 }
             } else {
                 productRepository.delete(p);
+                deletedIds.add(p.getId());
                 deletedCount++;
             }
         }
+
+        productNameCache.evict(deletedIds);
+
+        // 인기순 리더보드에서도 제거 (실패해도 다음 재구성 때 정리됨)
+        try {
+            salesLeaderboard.remove(deletedIds);
+        } catch (Exception e) {
+            log.warn("Leaderboard cleanup failed: {}", e.getMessage());
+        }
         log.info("✅ [스케줄러] 정리 완료! (삭제: {}건, 판매중지: {}건)", deletedCount, stoppedCount);
     }
 }
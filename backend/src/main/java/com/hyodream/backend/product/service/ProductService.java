@@ -27,7 +27,6 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -53,12 +52,17 @@ public class ProductService {
     private final SearchLogRepository searchLogRepository;
     private final NaverShoppingService naverShoppingService;
     private final AiClient aiClient; // Recommendation
-    private final ProductSyncService productSyncService; // Async Sync Service
+    private final ReviewAnalysisQueue reviewAnalysisQueue; // AI 리뷰 분석 작업 큐
 
     private final UserRepository userRepository;
-    private final StringRedisTemplate redisTemplate;
+    private final InterestService interestService;
+    private final TrendingService trendingService;
+    private final SalesLeaderboard salesLeaderboard;
+    private final CoPurchaseService coPurchaseService;
     private final EntityManager entityManager;
 
+    private static final int RELATED_PRODUCT_COUNT = 5;
+
     // 상품 등록 (관리자용)
     @Transactional
     public void createProduct(ProductRequestDto dto) {
@@ -76,6 +80,10 @@ public class ProductService {
         product.setCategory4(dto.getCategory4());
         product.setVolume(dto.getVolume());
         product.setSizeInfo(dto.getSizeInfo());
+        if (dto.getStockQuantity() != null && dto.getStockQuantity() < 0) {
+            throw new RuntimeException("재고 수량은 0 이상이어야 합니다.");
+        }
+        product.setStockQuantity(dto.getStockQuantity());
 
         if (dto.getHealthBenefits() != null) {
             for (String benefit : dto.getHealthBenefits()) {
@@ -87,7 +95,10 @@ public class ProductService {
                 product.addAllergen(allergen);
             }
         }
-        productRepository.save(product);
+        product.setInterestCategory(Objects.requireNonNullElse(
+                NaverShoppingService.deriveInterestCategory(product), InterestCategoryCache.DEFAULT_CATEGORY));
+        Product saved = productRepository.save(product);
+        salesLeaderboard.addNew(saved.getId());
     }
 
     // 전체 상품 목록 조회
@@ -109,17 +120,23 @@ public class ProductService {
         if (userAllergies.isEmpty()) userAllergies.add("NONE");
 
         Pageable pageable = PageRequest.of(page, size, sortCondition);
-        Page<Product> productPage = productRepository.findAllWithPersonalization(isLogin, userAllergies, pageable);
+        Page<Product> productPage = null;
+        if (!"latest".equals(sort)) {
+            // 인기순: Redis 리더보드 우선 (정렬 쿼리 없음), 불가하면 DB 정렬로 대체
+            productPage = popularFromLeaderboard(pageable, isLogin, userAllergies);
+        }
+        if (productPage == null) {
+            productPage = productRepository.findAllWithPersonalization(isLogin, userAllergies, pageable);
+        }
 
         List<Product> originalList = productPage.getContent();
         List<Product> resultList = new ArrayList<>(originalList);
 
         if (page == 0 && identifier != null && !identifier.equals("unknown")) {
-            String redisKey = "interest:user:" + identifier;
-            Set<String> topInterests = redisTemplate.opsForZSet().reverseRange(redisKey, 0, 0);
+            // 시간 감쇠가 적용된 현재 시점 기준 최고 관심사
+            String interestCategory = interestService.topInterest(identifier);
 
-            if (topInterests != null && !topInterests.isEmpty()) {
-                String interestCategory = topInterests.iterator().next();
+            if (interestCategory != null) {
                 List<Product> interestProducts = productRepository
                         .findByKeywordInBenefitsOrCategoriesWithAllergyCheck(interestCategory, isLogin, userAllergies);
 
@@ -151,16 +168,17 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("상품이 없습니다."));
 
         // AI 분석 상태 확인
-        // 분석 정보가 없으면 최초 1회 분석 요청 (리뷰가 없어도 COMPLETED 상태 생성을 위해 실행됨)
-        boolean needAnalysis = (product.getAnalysis() == null);
+        // 분석 정보가 없거나 실패했으면 분석 요청 (리뷰가 없어도 COMPLETED 상태 생성을 위해 실행됨)
+        // 조회된 상품은 우선 처리, 이미 대기 중인 재분석 작업도 우선순위를 올림 (큐가 가득 차 밀려났던 재분석은 다시 등록)
+        boolean needAnalysis = (product.getAnalysis() == null
+                || product.getAnalysis().getStatus() == AnalysisStatus.FAILED);
 
         if (needAnalysis) {
-            try {
-                productSyncService.analyzeProductReviews(product.getId());
-                log.info("🚀 Triggered async review analysis for ID: {}", id);
-            } catch (Exception e) {
-                log.error("Failed to trigger async analysis: {}", e.getMessage());
+            if (reviewAnalysisQueue.submit(product.getId(), ReviewAnalysisQueue.Priority.VIEW)) {
+                log.info("🚀 Queued review analysis for ID: {}", id);
             }
+        } else {
+            reviewAnalysisQueue.promote(product.getId());
         }
 
         ProductResponseDto responseDto = new ProductResponseDto(product);
@@ -201,11 +219,10 @@ public class ProductService {
 
         // Real-time
         try {
-            String redisKey = "interest:user:" + identifier;
-            Set<String> topInterests = redisTemplate.opsForZSet().reverseRange(redisKey, 0, 0);
+            // 시간 감쇠가 적용된 현재 시점 기준 최고 관심사
+            String hotCategory = interestService.topInterest(identifier);
             
-            if (topInterests != null && !topInterests.isEmpty()) {
-                String hotCategory = topInterests.iterator().next();
+            if (hotCategory != null) {
                 log.info("🔥 Real-time Interest Detected for user '{}': {}", identifier, hotCategory);
                 
                 // [Modified] Use Allergy Check
@@ -232,12 +249,42 @@ public class ProductService {
                     log.warn("   -> Real-time candidates were found but filtered out (duplicates or empty).");
                 }
             } else {
-                log.info("ℹ️ No Real-time Interest found in Redis for user '{}' (Key: {})", identifier, redisKey);
+                log.info("ℹ️ No Real-time Interest found in Redis for user '{}' (Key: {})", identifier, interestService.scoreKey(identifier));
             }
         } catch (Exception e) {
             log.error("⚠️ Real-time recommendation error: {}", e.getMessage());
         }
 
+        // Cold Start: 개인 관심사가 없으면 사이트 전체 실시간 인기 상품으로 대체
+        if (response.getRealTime() == null) {
+            try {
+                List<ProductResponseDto> sectionProducts = new ArrayList<>();
+                List<Long> trendingIds = trendingService.topProductIds(TrendingService.Window.HOUR, 20);
+                if (trendingIds.isEmpty()) {
+                    trendingIds = trendingService.topProductIds(TrendingService.Window.DAY, 20);
+                }
+                Map<Long, Product> productMap = productRepository.findAllById(trendingIds).stream()
+                        .collect(Collectors.toMap(Product::getId, p -> p));
+                for (Long id : trendingIds) {
+                    if (sectionProducts.size() >= 4) break;
+                    Product p = productMap.get(id);
+                    if (p == null || addedIds.contains(id)) continue;
+                    if (hasAllergies && p.getAllergens().stream().anyMatch(userAllergies::contains)) continue;
+                    ProductResponseDto dto = new ProductResponseDto(p);
+                    dto.setReason("지금 많이 보는 상품");
+                    sectionProducts.add(dto);
+                    addedIds.add(id);
+                }
+                if (!sectionProducts.isEmpty()) {
+                    response.setRealTime(new com.hyodream.backend.product.dto.RecommendationSection(
+                            "지금 많은 분들이 보고 있는 상품", sectionProducts));
+                    log.info("   -> Added Trending fallback section with {} products", sectionProducts.size());
+                }
+            } catch (Exception e) {
+                log.error("⚠️ Trending fallback error: {}", e.getMessage());
+            }
+        }
+
         response.setHealthGoals(new ArrayList<>());
         response.setDiseases(new ArrayList<>());
 
@@ -406,47 +453,53 @@ public class ProductService {
         }
 
         Pageable pageable = PageRequest.of(page, size, sortCondition);
+
+        if ("popular".equals(sort)) {
+            // 검색 결과 ID만 조회 후 리더보드 점수로 정렬 -> 현재 페이지 상품만 일괄 조회
+            try {
+                // 정렬 가능 건수 + 1까지만 조회 (넘으면 sortByScore가 null -> DB 정렬)
+                List<Long> matchedIds = productRepository.findIdsByNameContainingWithPersonalization(
+                        keyword, isLogin, userAllergies, PageRequest.of(0, SalesLeaderboard.MAX_SEARCH_IDS + 1));
+                List<Long> sortedIds = salesLeaderboard.sortByScore(matchedIds);
+                if (sortedIds != null) {
+                    int from = (int) Math.min(pageable.getOffset(), sortedIds.size());
+                    int to = Math.min(from + size, sortedIds.size());
+                    List<ProductResponseDto> content = salesLeaderboard.loadInOrder(sortedIds.subList(from, to)).stream()
+                            .map(ProductResponseDto::new)
+                            .toList();
+                    return new PageImpl<>(content, pageable, sortedIds.size());
+                }
+            } catch (Exception e) {
+                log.error("⚠️ Leaderboard search sort failed, falling back to DB: {}", e.getMessage());
+            }
+        }
+
         return productRepository.findByNameContainingWithPersonalization(keyword, isLogin, userAllergies, pageable)
                 .map(ProductResponseDto::new);
     }
 
+    // 인기순 목록을 리더보드에서 조회 (Redis 장애/빈 리더보드/깊은 페이지는 null -> DB 정렬)
+    private Page<Product> popularFromLeaderboard(Pageable pageable, boolean filterAllergies, List<String> userAllergies) {
+        try {
+            return salesLeaderboard.page(pageable, filterAllergies, userAllergies);
+        } catch (Exception e) {
+            log.error("⚠️ Leaderboard read failed, falling back to DB: {}", e.getMessage());
+            return null;
+        }
+    }
+
     // 연관 상품 추천
     @Transactional(readOnly = true)
     public List<ProductResponseDto> getRelatedProducts(Long productId) {
         if (!productRepository.existsById(productId)) return new ArrayList<>();
-        List<Product> relatedProducts = productRepository.findFrequentlyBoughtTogether(productId);
+        // 함께 구매 모델(Redis, 주문 이벤트로 갱신) 우선, 아직 집계가 없으면 주문 테이블 집계 쿼리
+        List<Long> coPurchased = coPurchaseService.relatedProductIds(productId, RELATED_PRODUCT_COUNT);
+        List<Product> relatedProducts = coPurchased != null
+                ? salesLeaderboard.loadInOrder(coPurchased)
+                : productRepository.findFrequentlyBoughtTogether(productId);
         if (relatedProducts.isEmpty()) {
             relatedProducts = productRepository.findSimilarProductsByBenefits(productId);
         }
         return relatedProducts.stream().map(ProductResponseDto::new).collect(Collectors.toList());
     }
-
-    @Transactional
-    public void increaseTotalSales(Long productId, int count) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("상품 없음"));
-        product.setTotalSales(product.getTotalSales() + count);
-        // [Real-time] 인기순 정렬의 즉각적인 반응을 위해 recentSales도 함께 증가
-        product.setRecentSales(product.getRecentSales() + count);
-    }
-
-    @Transactional
-    public void decreaseTotalSales(Long productId, int count) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("상품 없음"));
-        
-        // 전체 판매량 감소
-        if (product.getTotalSales() >= count) {
-            product.setTotalSales(product.getTotalSales() - count);
-        } else {
-            product.setTotalSales(0);
-        }
-
-        // [Real-time] 최근 판매량도 감소 (주문 취소 시 순위 하락 반영)
-        if (product.getRecentSales() >= count) {
-            product.setRecentSales(product.getRecentSales() - count);
-        } else {
-            product.setRecentSales(0);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,148 +1,278 @@
 package com.hyodream.backend.product.service;
 
 import com.hyodream.backend.global.client.review.AiReviewClient;
-import com.hyodream.backend.global.client.review.dto.ReviewAnalysisRequestDto;
-import com.hyodream.backend.global.client.review.dto.ReviewAnalysisResponseDto;
-import com.hyodream.backend.product.domain.AnalysisStatus;
-import com.hyodream.backend.product.domain.Product;
-import com.hyodream.backend.product.domain.Review;
-import com.hyodream.backend.product.domain.ReviewAnalysis;
+import com.hyodream.backend.global.client.review.dto.BatchReviewAnalysisRequestDto;
+import com.hyodream.backend.global.client.review.dto.BatchReviewAnalysisResponseDto;
+import com.hyodream.backend.product.domain.ReviewSentiment;
 import com.hyodream.backend.product.repository.ProductRepository;
 import com.hyodream.backend.product.repository.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductSyncService {
 
+    private static final String COMPLETE_SQL = """
+            UPDATE review_analysis
+            SET status = 'COMPLETED', positive_count = ?, negative_count = ?, positive_ratio = ?, negative_ratio = ?,
+                analyzed_review_count = ?, last_analyzed_at = ?
+            WHERE product_id = ?
+            """;
+    // 분석 도중 내용이 수정된 리뷰는 저장하지 않음 (수정 시 sentiment가 null이 되어 다음 분석 때 다시 보냄)
+    private static final String SENTIMENT_SQL = "UPDATE reviews SET sentiment = ? WHERE id = ? AND content = ?";
+    // 이미 완료된 상태라면 덮어쓰지 않음
+    private static final String FAIL_SQL = """
+            UPDATE review_analysis SET status = 'FAILED'
+            WHERE product_id = ? AND status <> 'COMPLETED'
+            """;
+
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
     private final AiReviewClient aiReviewClient;
+    private final ReviewSentimentCache reviewSentimentCache;
     private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // ai-review 요청 1회에 담는 최대 리뷰 수 (크롤링 직후처럼 미분석 리뷰가 많아도 모델 추론/HTTP 요청 크기를 제한)
+    @Value("${review-analysis.max-reviews-per-request:1000}")
+    private int maxReviewsPerRequest;
+
+    private Timer aiLatencyTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter sentReviewsCounter;
+
+    @PostConstruct
+    public void init() {
+        aiLatencyTimer = Timer.builder("review.analysis.ai.latency")
+                .description("ai-review 서버 감성 분석 요청 소요 시간 (일괄 요청 1회 기준)")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("review.analysis.batch.size")
+                .description("ai-review 일괄 요청 1회에 담긴 상품 수")
+                .register(meterRegistry);
+        sentReviewsCounter = Counter.builder("review.analysis.reviews.sent")
+                .description("ai-review로 보낸 리뷰 수 (새로 작성/수정된 리뷰 중 캐시에 없는 고유 본문만, 관리자 전체 재분석은 캐시 무시)")
+                .register(meterRegistry);
+    }
 
     /**
-     * [비동기] 상품 리뷰 AI 분석 수행
-     * - DB에 저장된 리뷰를 가져와 AI 서버로 전송
-     * - 분석 결과를 ReviewAnalysis 테이블에 저장
+     * 여러 상품 리뷰 AI 분석 일괄 수행 (ReviewAnalysisQueue 워커 스레드에서 호출, 직접 호출하지 말고 큐에 요청)
+     * - 상품별로 분석 상태를 선점한 뒤, 아직 분석되지 않은(새로 작성/수정된) 리뷰만 모아 ai-review로 한 번에 전송
+     * - 같은 본문은 판정 캐시(ReviewSentimentCache)에서 재사용하고, 캐시에 없는 본문만 전송
+     * - 전송할 리뷰가 max-reviews-per-request를 넘으면 여러 요청으로 나눠 보내고 결과를 합침 (한 상품의 리뷰도 나뉠 수 있음)
+     * - 리뷰별 결과를 reviews.sentiment에 저장하고, 상품별 긍정/부정 수는 저장된 결과를 다시 집계해 반영
+     *   (삭제된 리뷰도 집계에서 자연히 빠짐, 전체 재분석은 관리자가 결과를 초기화한 뒤 요청)
+     * @param bypassCacheIds 판정 캐시를 조회하지 않을 상품 (관리자 전체 재분석, 새 판정으로 캐시는 갱신)
      */
-    @Async
-    public void analyzeProductReviews(Long productId) {
-        log.info("🧠 [Async] Starting AI analysis for product ID: {}", productId);
-
+    public void analyzeProducts(List<Long> productIds, Set<Long> bypassCacheIds) {
         TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
         txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
 
-        // 1. [Native Query] DB 레벨에서 원자적으로 분석 상태 선점 (status='PROGRESS')
-        try {
-            int updatedRows = txTemplate.execute(status -> productRepository.startSyncNative(productId));
-            
-            if (updatedRows > 0) {
-                log.info("🏁 [Async] Acquired analysis lock for ID: {}", productId);
-            } else {
-                log.info("✋ [Async] Analysis already in progress for ID: {}. Skipping.", productId);
-                return;
+        // 1. [Native Query] DB 레벨에서 원자적으로 분석 상태 선점 (status='PROGRESS'), 다른 노드가 진행 중인 상품은 제외
+        List<Long> claimed = new ArrayList<>();
+        for (Long productId : productIds) {
+            try {
+                Integer updatedRows = txTemplate.execute(status -> productRepository.startSyncNative(productId));
+                if (updatedRows != null && updatedRows > 0) {
+                    claimed.add(productId);
+                } else {
+                    log.info("✋ [Batch] Analysis already in progress for ID: {}. Skipping.", productId);
+                }
+            } catch (Exception e) {
+                log.error("⚠️ [Batch] DB Error during analysis setup for ID {}: {}", productId, e.getMessage());
             }
-        } catch (Exception e) {
-            log.error("⚠️ [Async] DB Error during analysis setup: {}", e.getMessage());
+        }
+        if (claimed.isEmpty()) {
             return;
         }
+        log.info("🧠 [Batch] Starting AI analysis for {} products: {}", claimed.size(), claimed);
 
         try {
-            // 2. [No Transaction] 리뷰 데이터 조회 및 AI 요청
+            // 2. [No Transaction] 미분석 리뷰 조회 -> 본문 해시 캐시 확인 -> 캐시에 없는 본문만 AI 요청
             // 트랜잭션을 길게 잡지 않기 위해 여기서 수행
-            List<Review> reviews = reviewRepository.findByProductId(productId);
-            List<String> reviewContents = reviews.stream()
-                    .map(Review::getContent)
-                    .filter(c -> c != null && !c.isBlank())
-                    .collect(Collectors.toList());
-
-            if (reviewContents.isEmpty()) {
-                log.info("ℹ️ [Async] No reviews to analyze for ID: {}", productId);
-                txTemplate.execute(status -> {
-                    completeSyncLogic(productId, null); // 빈 결과로 완료 처리
-                    return null;
-                });
-                return;
+            List<Object[]> pending = reviewRepository.findPendingSentimentByProductIdIn(claimed); // [리뷰ID, 상품ID, 본문]
+            List<String> keys = pending.stream().map(row -> reviewSentimentCache.key((String) row[2])).toList();
+            Set<String> lookupKeys = new HashSet<>();
+            for (int i = 0; i < pending.size(); i++) {
+                if (!bypassCacheIds.contains((Long) pending.get(i)[1])) {
+                    lookupKeys.add(keys.get(i));
+                }
             }
+            Map<String, ReviewSentiment> verdicts = new HashMap<>(reviewSentimentCache.getAll(lookupKeys));
 
-            // AI 서버 호출
-            ReviewAnalysisResponseDto analysisResult = aiReviewClient.analyzeReviews(
-                    new ReviewAnalysisRequestDto(reviewContents));
+            // 캐시에 없는 본문은 배치 안에서 중복돼도 한 번만 전송 (처음 나온 상품의 요청에 포함)
+            // 캐시를 무시하는 상품의 리뷰는 다른 상품이 캐시에서 찾은 본문이어도 전송 (새 판정이 캐시를 덮어씀)
+            Map<Long, List<String>> missKeys = new LinkedHashMap<>();
+            Map<Long, List<String>> missContents = new LinkedHashMap<>();
+            Set<String> requested = new HashSet<>();
+            for (int i = 0; i < pending.size(); i++) {
+                String key = keys.get(i);
+                Long productId = (Long) pending.get(i)[1];
+                boolean cached = !bypassCacheIds.contains(productId) && verdicts.containsKey(key);
+                if (cached || !requested.add(key)) {
+                    continue;
+                }
+                missKeys.computeIfAbsent(productId, id -> new ArrayList<>()).add(key);
+                missContents.computeIfAbsent(productId, id -> new ArrayList<>()).add((String) pending.get(i)[2]);
+            }
+
+            if (!missContents.isEmpty()) {
+                sentReviewsCounter.increment(requested.size());
+                // 요청별로 결과를 바로 캐시/판정에 반영 (일부 요청이 실패해도 나머지 상품은 완료 처리)
+                for (Map<Long, List<Integer>> chunk : chunkByReviewCount(missContents)) {
+                    try {
+                        Map<String, ReviewSentiment> analyzed = requestAnalysis(chunk, missKeys, missContents);
+                        reviewSentimentCache.putAll(analyzed);
+                        verdicts.putAll(analyzed);
+                    } catch (Exception e) {
+                        log.error("⚠️ [Batch] AI request failed for products {}: {}", chunk.keySet(), e.getMessage());
+                    }
+                }
+            }
 
-            // 3. [Transaction] 결과 저장
-            txTemplate.execute(status -> {
-                completeSyncLogic(productId, analysisResult);
-                return null;
-            });
+            // 리뷰별 판정 모으기, 판정을 받지 못한 리뷰가 있는 상품은 실패 처리
+            // 새 리뷰가 없는 상품은 AI 호출 없이 집계만 갱신 (삭제 반영)
+            List<Object[]> sentiments = new ArrayList<>();
+            Set<Long> failed = new HashSet<>();
+            for (int i = 0; i < pending.size(); i++) {
+                Object[] row = pending.get(i);
+                ReviewSentiment verdict = verdicts.get(keys.get(i));
+                if (verdict == null) {
+                    failed.add((Long) row[1]);
+                    continue;
+                }
+                sentiments.add(new Object[] { verdict.name(), row[0], row[2] });
+            }
+
+            // 3. [Transaction] 리뷰별 결과 저장 + 상품별 집계 반영
+            txTemplate.executeWithoutResult(status -> applyResults(claimed, sentiments, failed));
 
         } catch (Exception e) {
-            log.error("⚠️ [Async] Error during AI analysis: {}", e.getMessage());
-            txTemplate.execute(status -> {
-                failSyncLogic(productId);
-                return null;
-            });
+            log.error("⚠️ [Batch] Error during AI analysis: {}", e.getMessage());
+            try {
+                txTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FAIL_SQL,
+                        claimed.stream().map(productId -> new Object[] { productId }).toList()));
+            } catch (Exception ex) {
+                log.error("Failed to mark as FAILED: {}", ex.getMessage());
+            }
         }
     }
 
-    private void completeSyncLogic(Long productId, ReviewAnalysisResponseDto result) {
-        // [Critical] 종료 시에도 비관적 락 사용 (데이터 정합성 보장)
-        Product product = productRepository.findByIdWithLock(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found during completeSync"));
-
-        ReviewAnalysis analysis = product.getAnalysis();
-        if (analysis == null) {
-            analysis = new ReviewAnalysis(product);
-            product.setAnalysis(analysis);
+    // 상품별 전송 리뷰를 요청 1회당 maxReviewsPerRequest개까지 나눔 -> 요청별 상품ID -> [시작, 끝) 범위
+    // 한 요청이 가득 찬 뒤에만 같은 상품의 다음 범위가 새 요청에 들어가므로, 한 요청 안에서 상품은 한 번만 나옴
+    private List<Map<Long, List<Integer>>> chunkByReviewCount(Map<Long, List<String>> contents) {
+        List<Map<Long, List<Integer>>> chunks = new ArrayList<>();
+        Map<Long, List<Integer>> current = new LinkedHashMap<>();
+        int size = 0;
+        for (Map.Entry<Long, List<String>> entry : contents.entrySet()) {
+            int count = entry.getValue().size();
+            for (int from = 0; from < count; ) {
+                if (size >= maxReviewsPerRequest) {
+                    chunks.add(current);
+                    current = new LinkedHashMap<>();
+                    size = 0;
+                }
+                int to = Math.min(count, from + maxReviewsPerRequest - size);
+                current.put(entry.getKey(), List.of(from, to));
+                size += to - from;
+                from = to;
+            }
         }
-
-        if (result != null) {
-            analysis.updateResult(
-                    result.getPositiveCount(),
-                    result.getNegativeCount(),
-                    result.getPositivePercent(),
-                    result.getNegativePercent(),
-                    result.getTotalReviews()
-            );
-            log.info("✅ [Async] Analysis completed for ID: {} (Pos: {}%, Neg: {}%)", 
-                    productId, result.getPositivePercent(), result.getNegativePercent());
-        } else {
-            // 리뷰가 없어서 분석 못한 경우도 COMPLETED로 처리하되 값은 0
-            analysis.setStatus(AnalysisStatus.COMPLETED);
-            analysis.setAnalyzedReviewCount(0);
-            log.info("✅ [Async] Analysis completed (Empty) for ID: {}", productId);
+        if (!current.isEmpty()) {
+            chunks.add(current);
         }
+        return chunks;
+    }
+
+    // ai-review 일괄 요청 1회 -> 본문 키별 판정
+    private Map<String, ReviewSentiment> requestAnalysis(Map<Long, List<Integer>> chunk,
+            Map<Long, List<String>> missKeys, Map<Long, List<String>> missContents) {
+        List<BatchReviewAnalysisRequestDto.ProductReviews> requests = chunk.entrySet().stream()
+                .map(entry -> new BatchReviewAnalysisRequestDto.ProductReviews(entry.getKey(),
+                        missContents.get(entry.getKey()).subList(entry.getValue().get(0), entry.getValue().get(1))))
+                .toList();
+        batchSizeSummary.record(requests.size());
+
+        BatchReviewAnalysisResponseDto response = aiLatencyTimer.record(() ->
+                aiReviewClient.analyzeReviewsBatch(new BatchReviewAnalysisRequestDto(requests)));
 
-        productRepository.saveAndFlush(product);
+        Map<String, ReviewSentiment> analyzed = new HashMap<>();
+        for (BatchReviewAnalysisResponseDto.ProductResult result : response.getResults()) {
+            List<Integer> range = chunk.get(result.getProductId());
+            List<String> labels = result.getSentiments();
+            // 이 요청에 없던 상품이거나 리뷰 수가 맞지 않는 결과는 버림 (해당 리뷰는 판정 없음 -> 상품 실패 처리)
+            if (range == null || labels == null || labels.size() != range.get(1) - range.get(0)) {
+                continue;
+            }
+            List<String> resultKeys = missKeys.get(result.getProductId()).subList(range.get(0), range.get(1));
+            for (int i = 0; i < resultKeys.size(); i++) {
+                analyzed.put(resultKeys.get(i), ReviewSentiment.valueOf(labels.get(i)));
+            }
+        }
+        return analyzed;
     }
 
-    private void failSyncLogic(Long productId) {
-        try {
-            Product product = productRepository.findByIdWithLock(productId).orElse(null);
-            if (product != null) {
-                ReviewAnalysis analysis = product.getAnalysis();
-                if (analysis == null) {
-                    analysis = new ReviewAnalysis(product);
-                    product.setAnalysis(analysis);
-                }
-                
-                // 이미 완료된 상태라면 덮어쓰지 않음
-                if (analysis.getStatus() == AnalysisStatus.COMPLETED) return;
-                
-                analysis.setStatus(AnalysisStatus.FAILED);
-                productRepository.saveAndFlush(product);
+    // 리뷰별 감성 저장 후 상품별 긍정/부정 수 재집계 -> 완료, AI 결과를 받지 못한 상품 -> 실패
+    private void applyResults(List<Long> productIds, List<Object[]> sentiments, Set<Long> failed) {
+        if (!sentiments.isEmpty()) {
+            jdbcTemplate.batchUpdate(SENTIMENT_SQL, sentiments);
+        }
+
+        List<Long> completedIds = productIds.stream().filter(id -> !failed.contains(id)).toList();
+        // 상품ID -> [긍정 수, 부정 수]
+        Map<Long, long[]> counts = new HashMap<>();
+        if (!completedIds.isEmpty()) {
+            for (Object[] row : reviewRepository.countSentimentsByProductIdIn(completedIds)) {
+                long[] count = counts.computeIfAbsent((Long) row[0], id -> new long[2]);
+                count[row[1] == ReviewSentiment.POSITIVE ? 0 : 1] += (Long) row[2];
             }
-        } catch (Exception e) {
-            log.error("Failed to mark as FAILED: {}", e.getMessage());
         }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> completed = new ArrayList<>();
+        for (Long productId : completedIds) {
+            long[] count = counts.getOrDefault(productId, new long[2]);
+            long total = count[0] + count[1];
+            completed.add(new Object[] { count[0], count[1], percent(count[0], total), percent(count[1], total),
+                    total, now, productId });
+        }
+
+        if (!completed.isEmpty()) {
+            jdbcTemplate.batchUpdate(COMPLETE_SQL, completed);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(FAIL_SQL, failed.stream().map(productId -> new Object[] { productId }).toList());
+            log.warn("⚠️ [Batch] AI response missing for products: {}", failed);
+        }
+        log.info("✅ [Batch] Analysis completed for {} products ({} reviews analyzed, {} failed)",
+                completed.size(), sentiments.size(), failed.size());
+    }
+
+    // ai-review와 같은 방식 (소수점 둘째 자리 반올림)
+    private double percent(long count, long total) {
+        return total == 0 ? 0.0 : Math.round(count * 10000.0 / total) / 100.0;
     }
 }
@@ -0,0 +1,66 @@
+package com.hyodream.backend.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyodream.backend.global.outbox.DomainEvent;
+import com.hyodream.backend.global.outbox.DomainEventHandler;
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.product.dto.ReviewEventPayload;
+import com.hyodream.backend.product.repository.ProductRepository;
+import com.hyodream.backend.product.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 리뷰 작성/수정/삭제 -> 분석 이후 바뀐 리뷰가 5개 이상 쌓였으면 AI 재분석 트리거 (리뷰 트랜잭션과 분리)
+// 재분석은 새로 작성/수정된 리뷰만 AI로 보내고, 삭제분은 집계만 다시 계산
+// 재전달돼도 큐가 같은 상품 요청을 합치므로 중복 분석 없음 (at-least-once 처리로 충분)
+@Component
+@RequiredArgsConstructor
+public class ReviewAnalysisEventHandler implements DomainEventHandler {
+
+    private static final int REANALYZE_THRESHOLD = 5;
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReviewAnalysisQueue reviewAnalysisQueue;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "review-analysis";
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.REVIEW_CREATED || type == DomainEventType.REVIEW_UPDATED
+                || type == DomainEventType.REVIEW_DELETED;
+    }
+
+    @Override
+    public void handle(DomainEvent event) throws Exception {
+        ReviewEventPayload review = objectMapper.readValue(event.payload(), ReviewEventPayload.class);
+
+        // [리뷰 수, 마지막 분석 당시 리뷰 수(분석 이력 없으면 null)]
+        List<Object[]> rows = productRepository.findReviewCountsForAnalysis(review.productId());
+        if (rows.isEmpty()) {
+            return; // 삭제된 상품
+        }
+        Integer analyzedCount = (Integer) rows.get(0)[1];
+
+        // [미분석(새로 작성/수정) 리뷰 수, 현재 분석 결과가 남아 있는 리뷰 수]
+        Object[] progress = reviewRepository.countSentimentProgressByProductId(review.productId()).get(0);
+        long pendingCount = ((Number) progress[0]).longValue();
+        long analyzedNow = ((Number) progress[1]).longValue();
+
+        // 분석 이력 없음 / 미분석 리뷰 누적 / 분석 이후 삭제된 리뷰 누적
+        if (analyzedCount == null
+                || pendingCount >= REANALYZE_THRESHOLD
+                || analyzedCount - analyzedNow >= REANALYZE_THRESHOLD) {
+            // 큐가 가득 차면 실패 처리 -> 아웃박스 소비자가 나중에 다시 전달 (분석 요청 유실 방지)
+            if (!reviewAnalysisQueue.submit(review.productId(), ReviewAnalysisQueue.Priority.REVIEW)) {
+                throw new RuntimeException("리뷰 분석 대기열이 가득 찼습니다.");
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.hyodream.backend.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 리뷰 감성 분석 작업 큐 (상품 단위)
+ * - 같은 상품의 요청은 하나로 합침: 대기 중이면 우선순위만 올리고, 분석 중이면 끝난 뒤 한 번 더 실행
+ * - 최근 조회된 상품(VIEW)을 리뷰 누적 재분석(REVIEW)보다 먼저 처리, 같은 우선순위는 먼저 들어온 순
+ * - 워커 수는 ai-review 서버 처리량에 맞춤 (모델 추론이 CPU 바운드라 동시 요청을 늘려도 빨라지지 않음)
+ * - 워커는 첫 작업을 꺼낸 뒤 잠시(batch-window-ms) 더 모아 여러 상품을 한 번에 분석 요청 (HTTP/모델 호출 오버헤드 1회)
+ * - 큐가 가득 차면 VIEW는 가장 최근 REVIEW 작업을 밀어내고 들어가고, 그 외에는 거절 (호출 측에서 재시도 판단)
+ *   밀려난 상품은 기록해 두었다가 다음 상세 조회(promote) 때 VIEW로 다시 등록
+ * - 관리자 전체 재분석은 판정 캐시를 거치지 않도록 표시 (합쳐진 요청 중 하나라도 표시되면 적용, 분석에 들어갈 때 소비)
+ * - 여러 노드 간 중복 분석은 기존처럼 review_analysis 상태 선점(startSyncNative)으로 막음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewAnalysisQueue {
+
+    public enum Priority {
+        VIEW,   // 상세 조회로 요청됨 (사용자가 결과를 기다리는 중)
+        REVIEW  // 리뷰 누적으로 재분석 필요
+    }
+
+    private final ProductSyncService productSyncService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${review-analysis.workers:2}")
+    private int workers;
+
+    @Value("${review-analysis.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${review-analysis.batch-size:20}")
+    private int batchSize;
+
+    @Value("${review-analysis.batch-window-ms:200}")
+    private long batchWindowMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    // 우선순위 -> 순번 순 정렬, pending과 같은 작업 객체를 공유 (lock 안에서만 접근)
+    private final TreeSet<Job> queue = new TreeSet<>(
+            Comparator.comparing((Job job) -> job.priority).thenComparingLong(job -> job.sequence));
+    private final Map<Long, Job> pending = new HashMap<>();
+    private final Set<Long> running = new HashSet<>();
+    // 분석 중에 다시 요청된 상품 -> 끝난 뒤 재실행할 우선순위
+    private final Map<Long, Priority> rerun = new HashMap<>();
+    // 큐가 가득 차 밀려난 상품 (오래된 순, 최대 queue-capacity개)
+    private final LinkedHashSet<Long> evicted = new LinkedHashSet<>();
+    // 판정 캐시를 거치지 않고 분석할 상품 (관리자 전체 재분석)
+    private final Set<Long> bypassCache = new HashSet<>();
+    private long sequence;
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean stopped;
+
+    private Timer waitTimer;
+    private Counter enqueuedCounter;
+    private Counter coalescedCounter;
+    private Counter promotedCounter;
+    private Counter evictedCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        waitTimer = Timer.builder("review.analysis.queue.wait")
+                .description("분석 요청 후 워커가 꺼내기까지 대기 시간")
+                .register(meterRegistry);
+        enqueuedCounter = jobCounter("enqueued");
+        coalescedCounter = jobCounter("coalesced");
+        promotedCounter = jobCounter("promoted");
+        evictedCounter = jobCounter("evicted");
+        rejectedCounter = jobCounter("rejected");
+        Gauge.builder("review.analysis.queue.depth", this, ReviewAnalysisQueue::size)
+                .description("분석 대기 중인 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("review.analysis.running", this, ReviewAnalysisQueue::runningCount)
+                .description("분석 중인 상품 수")
+                .register(meterRegistry);
+
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::workLoop, "review-analysis-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            workerThreads.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        workerThreads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * 분석 요청 (같은 상품이 대기/분석 중이면 합침)
+     * @return false면 큐가 가득 차 거절됨
+     */
+    public boolean submit(Long productId, Priority priority) {
+        return submit(productId, priority, false);
+    }
+
+    /**
+     * @param bypassCache true면 판정 캐시를 조회하지 않고 모든 대상 리뷰를 AI로 보냄 (새 판정으로 캐시 갱신)
+     */
+    public boolean submit(Long productId, Priority priority, boolean bypassCache) {
+        lock.lock();
+        try {
+            // 대기/분석 중인 요청에 합쳐져도 적용되도록 먼저 표시 (거절되면 되돌림)
+            boolean marked = bypassCache && this.bypassCache.add(productId);
+            if (running.contains(productId)) {
+                // 분석 도중 추가된 리뷰/조회 반영을 위해 끝난 뒤 한 번 더 (여러 번 요청돼도 1회)
+                rerun.merge(productId, priority, this::higher);
+                evicted.remove(productId);
+                coalescedCounter.increment();
+                return true;
+            }
+            Job existing = pending.get(productId);
+            if (existing != null) {
+                if (priority.compareTo(existing.priority) < 0) {
+                    // 정렬 키가 바뀌므로 빼고 다시 넣음 (대기 시작 시각과 순번은 유지)
+                    queue.remove(existing);
+                    existing.priority = priority;
+                    queue.add(existing);
+                    promotedCounter.increment();
+                } else {
+                    coalescedCounter.increment();
+                }
+                evicted.remove(productId);
+                return true;
+            }
+            if (queue.size() >= queueCapacity && !evictFor(priority)) {
+                if (marked) {
+                    this.bypassCache.remove(productId);
+                }
+                rejectedCounter.increment();
+                log.warn("🚫 Review analysis queue full ({}), rejected product {} ({})", queueCapacity, productId, priority);
+                return false;
+            }
+            Job job = new Job(productId, priority, sequence++, System.nanoTime());
+            queue.add(job);
+            pending.put(productId, job);
+            evicted.remove(productId);
+            enqueuedCounter.increment();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 상세 조회 시 호출: 대기 중인 작업이 있으면 우선순위 상향, 큐가 가득 차 밀려났던 상품이면 VIEW로 다시 등록
+    public void promote(Long productId) {
+        boolean resubmit;
+        lock.lock();
+        try {
+            Job existing = pending.get(productId);
+            if (existing != null && existing.priority != Priority.VIEW) {
+                queue.remove(existing);
+                existing.priority = Priority.VIEW;
+                queue.add(existing);
+                promotedCounter.increment();
+            }
+            resubmit = existing == null && evicted.contains(productId);
+        } finally {
+            lock.unlock();
+        }
+        if (resubmit && submit(productId, Priority.VIEW)) {
+            log.info("🔁 Re-queued evicted review analysis for product {}", productId);
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int runningCount() {
+        lock.lock();
+        try {
+            return running.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 가득 찼을 때 VIEW 요청이면 가장 나중에 들어온 REVIEW 작업을 밀어냄
+    // 밀려난 상품은 기록해 두고 다음 조회(promote) 또는 다음 리뷰 누적 요청 때 다시 등록됨
+    private boolean evictFor(Priority priority) {
+        if (priority != Priority.VIEW) {
+            return false;
+        }
+        Job last = queue.last();
+        if (last.priority == Priority.VIEW) {
+            return false;
+        }
+        queue.remove(last);
+        pending.remove(last.productId);
+        rememberEvicted(last.productId);
+        evictedCounter.increment();
+        log.info("⏏️ Review analysis for product {} evicted by a viewed product", last.productId);
+        return true;
+    }
+
+    // lock 안에서 호출 (오래된 기록부터 버려 최대 queue-capacity개 유지)
+    private void rememberEvicted(Long productId) {
+        evicted.add(productId);
+        if (evicted.size() > queueCapacity) {
+            Iterator<Long> oldest = evicted.iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private void workLoop() {
+        while (!stopped) {
+            List<Job> batch;
+            try {
+                batch = takeBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.nanoTime();
+            List<Long> productIds = new ArrayList<>(batch.size());
+            Set<Long> bypassCacheIds = new HashSet<>();
+            for (Job job : batch) {
+                waitTimer.record(now - job.enqueuedAt, TimeUnit.NANOSECONDS);
+                productIds.add(job.productId);
+                if (job.bypassCache) {
+                    bypassCacheIds.add(job.productId);
+                }
+            }
+            try {
+                productSyncService.analyzeProducts(productIds, bypassCacheIds);
+            } catch (Exception e) {
+                log.error("⚠️ Review analysis worker failed for products {}: {}", productIds, e.getMessage());
+            } finally {
+                finish(productIds);
+            }
+        }
+    }
+
+    // 첫 작업이 들어올 때까지 기다린 뒤, batch-window-ms 동안 batch-size까지 더 모음 (우선순위 순)
+    private List<Job> takeBatch() throws InterruptedException {
+        List<Job> batch = new ArrayList<>();
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                notEmpty.await();
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+            while (batch.size() < batchSize) {
+                Job job = queue.pollFirst();
+                if (job != null) {
+                    pending.remove(job.productId);
+                    running.add(job.productId);
+                    job.bypassCache = bypassCache.remove(job.productId);
+                    batch.add(job);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                notEmpty.awaitNanos(remaining);
+            }
+            // 배치가 가득 차 남은 작업이 있으면 쉬고 있는 다른 워커를 깨움 (submit의 signal을 이 워커가 소비했을 수 있음)
+            if (!queue.isEmpty()) {
+                notEmpty.signal();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finish(List<Long> productIds) {
+        Map<Long, Priority> again = new HashMap<>();
+        lock.lock();
+        try {
+            for (Long productId : productIds) {
+                running.remove(productId);
+                Priority priority = rerun.remove(productId);
+                if (priority != null) {
+                    again.put(productId, priority);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        again.forEach((productId, priority) -> {
+            if (!submit(productId, priority)) {
+                dropRerun(productId);
+            }
+        });
+    }
+
+    // 분석 후 재분석 재등록이 거절되면(큐 가득 참) 밀려난 상품처럼 기록해 다음 조회 때 다시 등록
+    // 캐시 무시 표시는 지움 (다시 등록될 때까지 남겨 두면 관련 없는 다음 분석에 적용됨)
+    private void dropRerun(Long productId) {
+        boolean bypass;
+        lock.lock();
+        try {
+            rememberEvicted(productId);
+            bypass = bypassCache.remove(productId);
+        } finally {
+            lock.unlock();
+        }
+        log.warn("⚠️ Review analysis rerun for product {} dropped: queue is full (re-queued on next view{})",
+                productId, bypass ? ", cache bypass cleared" : "");
+    }
+
+    private Priority higher(Priority a, Priority b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private Counter jobCounter(String result) {
+        return Counter.builder("review.analysis.jobs")
+                .description("리뷰 분석 큐 요청 처리 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class Job {
+        private final Long productId;
+        private final long sequence;
+        private final long enqueuedAt;
+        private Priority priority;
+        private boolean bypassCache;
+
+        private Job(Long productId, Priority priority, long sequence, long enqueuedAt) {
+            this.productId = productId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.hyodream.backend.product.service;
+
+import com.hyodream.backend.product.domain.ReviewSentiment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 리뷰 본문 해시 -> 감성 판정 영구 캐시 (review_sentiment_cache)
+ * - 키는 ai-review 전처리와 같은 방식으로 정규화한 본문의 SHA-256 -> 모델 입력이 같으면 같은 키
+ * - 모델 버전을 키에 포함: 모델을 바꾸면 버전만 올리면 되고 이전 항목은 쓰이지 않다가 정리됨
+ * - 최대 개수를 넘으면 마지막 사용 시각이 오래된 항목부터 삭제 (주기 작업, 여러 노드 중 하나만 실행)
+ * - 조회/저장 실패는 캐시 미스로 취급 (분석 자체는 계속 진행)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewSentimentCache {
+
+    private static final String LOCK_KEY = "review-sentiment-cache:evict:lock";
+    private static final int CHUNK_SIZE = 500;
+    // ai-review preprocess()와 같은 규칙: 한글/공백 외 문자 제거 (형태소 분석은 공백 개수에 영향받지 않으므로 공백도 하나로)
+    private static final Pattern NON_HANGUL = Pattern.compile("[^ㄱ-ㅎㅏ-ㅣ가-힣 ]");
+    private static final Pattern SPACES = Pattern.compile(" +");
+
+    private static final String TOUCH_SQL = """
+            UPDATE review_sentiment_cache SET hit_count = hit_count + 1, last_used_at = ?
+            WHERE text_hash = ?
+            """;
+    private static final String UPSERT_SQL = """
+            INSERT INTO review_sentiment_cache (text_hash, sentiment, hit_count, last_used_at)
+            VALUES (?, ?, 0, ?) AS e
+            ON DUPLICATE KEY UPDATE sentiment = e.sentiment, last_used_at = e.last_used_at
+            """;
+    private static final String EVICT_SQL = "DELETE FROM review_sentiment_cache ORDER BY last_used_at LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${review-analysis.sentiment-cache.max-entries:200000}")
+    private long maxEntries;
+
+    @Value("${review-analysis.sentiment-cache.model-version:1}")
+    private String modelVersion;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter evictedCounter;
+
+    @PostConstruct
+    public void init() {
+        hitCounter = lookupCounter("hit");
+        missCounter = lookupCounter("miss");
+        evictedCounter = Counter.builder("review.sentiment.cache.evicted")
+                .description("최대 개수 초과로 정리된 캐시 항목 수")
+                .register(meterRegistry);
+        Gauge.builder("review.sentiment.cache.hit.ratio", this, ReviewSentimentCache::hitRatio)
+                .description("기동 이후 캐시 적중률 (0~1)")
+                .register(meterRegistry);
+    }
+
+    // 캐시 키 (정규화 본문 + 모델 버전의 SHA-256)
+    public String key(String content) {
+        String normalized = SPACES.matcher(NON_HANGUL.matcher(content).replaceAll("")).replaceAll(" ").trim();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((modelVersion + ":" + normalized).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("리뷰 본문 해시 계산 실패", e);
+        }
+    }
+
+    // 여러 키를 한 번에 조회, 적중한 항목은 사용 시각 갱신 (없는 키는 결과 Map에 없음)
+    public Map<String, ReviewSentiment> getAll(Collection<String> keys) {
+        Map<String, ReviewSentiment> found = new HashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+        try {
+            List<String> list = new ArrayList<>(keys);
+            for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+                List<String> chunk = list.subList(from, Math.min(from + CHUNK_SIZE, list.size()));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                jdbcTemplate.query("SELECT text_hash, sentiment FROM review_sentiment_cache WHERE text_hash IN ("
+                                + placeholders + ")",
+                        rs -> {
+                            found.put(rs.getString(1), ReviewSentiment.valueOf(rs.getString(2)));
+                        },
+                        chunk.toArray());
+            }
+            if (!found.isEmpty()) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(TOUCH_SQL, found.keySet().stream()
+                        .map(key -> new Object[] { now, key })
+                        .toList());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Sentiment cache lookup failed, treating as miss: {}", e.getMessage());
+            found.clear();
+        }
+        hitCounter.increment(found.size());
+        missCounter.increment(keys.size() - found.size());
+        return found;
+    }
+
+    // AI 판정 결과 저장 (같은 키가 이미 있으면 덮어씀)
+    public void putAll(Map<String, ReviewSentiment> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPSERT_SQL, entries.entrySet().stream()
+                    .map(entry -> new Object[] { entry.getKey(), entry.getValue().name(), now })
+                    .toList());
+        } catch (Exception e) {
+            log.warn("⚠️ Sentiment cache write failed: {}", e.getMessage());
+        }
+    }
+
+    // 최대 개수를 넘은 만큼 오래 안 쓰인 항목부터 청크 단위 삭제 (last_used_at 인덱스 순서로 삭제)
+    @Scheduled(fixedDelayString = "${review-analysis.sentiment-cache.evict-interval-ms:3600000}")
+    public void evict() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofMinutes(10));
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        try {
+            Long size = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM review_sentiment_cache", Long.class);
+            long excess = (size == null ? 0 : size) - maxEntries;
+            long deleted = 0;
+            while (excess > 0) {
+                int removed = jdbcTemplate.update(EVICT_SQL, (int) Math.min(excess, CHUNK_SIZE * 10));
+                if (removed == 0) {
+                    break;
+                }
+                excess -= removed;
+                deleted += removed;
+            }
+            if (deleted > 0) {
+                evictedCounter.increment(deleted);
+                log.info("🧹 Sentiment cache evicted {} entries (max {})", deleted, maxEntries);
+            }
+        } catch (Exception e) {
+            log.error("⚠️ Sentiment cache eviction failed: {}", e.getMessage());
+        } finally {
+            redisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    private double hitRatio() {
+        double total = hitCounter.count() + missCounter.count();
+        return total == 0 ? 0.0 : hitCounter.count() / total;
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("review.sentiment.cache.lookups")
+                .description("리뷰 감성 캐시 조회 결과 (고유 본문 기준)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,20 +1,40 @@
 package com.hyodream.backend.product.service;
 
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.global.outbox.OutboxService;
 import com.hyodream.backend.order.repository.OrderItemRepository;
 import com.hyodream.backend.product.domain.*;
+import com.hyodream.backend.product.dto.ReviewEventPayload;
+import com.hyodream.backend.product.dto.ReviewPageResponseDto;
 import com.hyodream.backend.product.dto.ReviewRequestDto;
 import com.hyodream.backend.product.dto.ReviewResponseDto;
 import com.hyodream.backend.product.repository.ProductRepository;
 import com.hyodream.backend.product.repository.ReviewRepository;
 import com.hyodream.backend.user.domain.User;
 import com.hyodream.backend.user.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,15 +45,44 @@ public class ReviewService {
     private final OrderItemRepository orderItemRepository;
     private final UserService userService;
     private final ProductRepository productRepository;
-    private final ProductSyncService productSyncService;
+    private final OutboxService outboxService;
+    private final ProductNameCache productNameCache;
+    private final ReviewAnalysisQueue reviewAnalysisQueue;
+    private final MeterRegistry meterRegistry;
+
+    private static final int DEFAULT_REVIEW_PAGE_SIZE = 20;
+    private static final int MAX_REVIEW_PAGE_SIZE = 50;
+
+    @Value("${product.review-page-cache.max-size:10000}")
+    private long firstPageCacheMaxSize;
+
+    @Value("${product.review-page-cache.ttl-seconds:60}")
+    private long firstPageCacheTtlSeconds;
+
+    private record FirstPageKey(Long productId, ReviewSort sort) {
+    }
+
+    // 상품별 리뷰 첫 페이지 (인기 상품 상세 화면 진입 시 대부분 첫 페이지만 조회)
+    private Cache<FirstPageKey, ReviewPageResponseDto> firstPageCache;
+
+    @PostConstruct
+    public void init() {
+        firstPageCache = Caffeine.newBuilder()
+                .maximumSize(firstPageCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(firstPageCacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, firstPageCache, "reviewFirstPage");
+    }
 
     // 1. [내부] 리뷰 작성 (구매 인증 필요)
     @Transactional
     public void createReview(ReviewRequestDto dto) {
         User user = userService.getCurrentUser();
 
-        Product product = productRepository.findById(dto.getProductId())
-                .orElseThrow(() -> new RuntimeException("존재하지 않는 상품입니다."));
+        if (!productRepository.existsById(dto.getProductId())) {
+            throw new RuntimeException("존재하지 않는 상품입니다.");
+        }
 
         // 구매 여부 확인
         if (!orderItemRepository.existsByUserIdAndProductId(user.getId(), dto.getProductId())) {
@@ -64,24 +113,66 @@ public class ReviewService {
 
         reviewRepository.save(review);
         
-        // 통계 업데이트 & AI 분석 트리거
-        updateProductStatsAndTriggerAnalysis(product, 1, newScore);
+        // 통계는 증분 UPDATE 한 번 (리뷰 수와 무관), AI 분석 트리거는 이벤트로 비동기 처리 (ReviewAnalysisEventHandler)
+        productRepository.applyReviewDelta(review.getProductId(), 1, newScore);
+        evictFirstPages(review.getProductId());
+        outboxService.append(DomainEventType.REVIEW_CREATED, review.getId(),
+                new ReviewEventPayload(review.getId(), review.getProductId()));
     }
 
-    // 상품별 리뷰 조회
+    // 상품별 리뷰 조회 (키셋 페이지네이션, 정렬: 최신순 / 평점순)
+    // 페이지 1번 + 이미지 일괄 조회 1번, 기본 크기의 첫 페이지는 로컬 캐시에서 바로 반환
     @Transactional(readOnly = true)
-    public List<ReviewResponseDto> getReviewsByProductId(Long productId) {
-        List<Review> reviews = reviewRepository.findByProductId(productId);
+    public ReviewPageResponseDto getReviewsByProductId(Long productId, ReviewSort sort, LocalDateTime cursorDate,
+            Long cursorId, Integer cursorScore, int size) {
+        if ((cursorDate == null) != (cursorId == null)) {
+            throw new RuntimeException("cursorDate와 cursorId는 함께 전달해야 합니다.");
+        }
+        if (sort == ReviewSort.SCORE && cursorDate != null && cursorScore == null) {
+            throw new RuntimeException("평점순 다음 페이지는 cursorScore도 함께 전달해야 합니다.");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_REVIEW_PAGE_SIZE);
+
+        if (cursorDate == null && pageSize == DEFAULT_REVIEW_PAGE_SIZE) {
+            return firstPageCache.get(new FirstPageKey(productId, sort),
+                    key -> loadReviewPage(productId, sort, null, null, null, pageSize));
+        }
+        return loadReviewPage(productId, sort, cursorDate, cursorId, cursorScore, pageSize);
+    }
+
+    private ReviewPageResponseDto loadReviewPage(Long productId, ReviewSort sort, LocalDateTime cursorDate,
+            Long cursorId, Integer cursorScore, int pageSize) {
+        // 다음 페이지 여부 확인을 위해 1건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Review> reviews;
+        if (sort == ReviewSort.SCORE) {
+            reviews = cursorDate == null
+                    ? reviewRepository.findTopScoredByProductId(productId, limit)
+                    : reviewRepository.findTopScoredByProductIdBefore(productId, cursorScore, cursorDate, cursorId, limit);
+        } else {
+            reviews = cursorDate == null
+                    ? reviewRepository.findLatestByProductId(productId, limit)
+                    : reviewRepository.findLatestByProductIdBefore(productId, cursorDate, cursorId, limit);
+        }
+
+        boolean hasNext = reviews.size() > pageSize;
+        if (hasNext) {
+            reviews = reviews.subList(0, pageSize);
+        }
 
-        String productName = productRepository.findById(productId)
-                .map(Product::getName)
-                .orElse("알 수 없는 상품");
+        String productName = productNameCache.get(productId, "알 수 없는 상품");
+        Map<Long, List<String>> images = loadImages(reviews);
 
         List<ReviewResponseDto> dtos = new ArrayList<>();
         for (Review review : reviews) {
-            dtos.add(new ReviewResponseDto(review, productName));
+            dtos.add(new ReviewResponseDto(review, productName, images.getOrDefault(review.getId(), List.of())));
         }
-        return dtos;
+        if (!hasNext) {
+            return new ReviewPageResponseDto(dtos, false, null, null, null);
+        }
+        Review last = reviews.get(reviews.size() - 1);
+        return new ReviewPageResponseDto(dtos, true, last.getCreatedAt(), last.getId(),
+                sort == ReviewSort.SCORE ? last.getScore() : null);
     }
 
     // 리뷰 수정 (내부 회원만)
@@ -97,20 +188,23 @@ public class ReviewService {
         }
 
         int oldScore = review.getScore();
+        // 내용이 바뀌면 감성 분석 결과를 지워 다음 분석 때 다시 보냄
+        if (!Objects.equals(review.getContent(), dto.getContent())) {
+            review.setSentiment(null);
+        }
         review.setContent(dto.getContent());
         
         if (dto.getScore() > 0) {
             review.setScore(dto.getScore());
         }
         
-        // 점수가 바뀌었다면 통계 재계산 필요
+        // 점수가 바뀌었다면 평점 합계에 차이만 반영 (어긋난 값은 주기적 보정 작업이 바로잡음)
         if (oldScore != review.getScore()) {
-            Product product = productRepository.findById(review.getProductId()).orElse(null);
-            if (product != null) {
-                // 전체 재계산이 안전함 (증분 업데이트는 오차 누적 가능성 있음)
-                recalculateProductStats(product);
-            }
+            productRepository.applyReviewDelta(review.getProductId(), 0, review.getScore() - oldScore);
         }
+        evictFirstPages(review.getProductId());
+        outboxService.append(DomainEventType.REVIEW_UPDATED, review.getId(),
+                new ReviewEventPayload(review.getId(), review.getProductId()));
     }
 
     // 리뷰 삭제
@@ -125,14 +219,33 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
-        
-        Product product = productRepository.findById(review.getProductId()).orElse(null);
-        if (product != null) {
-             // 통계 업데이트 (감소)
-             updateProductStatsAndTriggerAnalysis(product, -1, -review.getScore());
-             // 혹은 정확성을 위해 전체 재계산
-             recalculateProductStats(product);
+
+        // 통계에서 이 리뷰만큼 차감 (상품이 이미 삭제됐으면 영향 없음)
+        productRepository.applyReviewDelta(review.getProductId(), -1, -review.getScore());
+        evictFirstPages(review.getProductId());
+        outboxService.append(DomainEventType.REVIEW_DELETED, review.getId(),
+                new ReviewEventPayload(review.getId(), review.getProductId()));
+    }
+
+    // 리뷰 감성 전체 재분석 (관리자용): 리뷰별 분석 결과를 모두 지우고 분석 큐에 우선 요청
+    // 평소에는 새로 작성/수정된 리뷰만 분석하므로, 기존 결과를 다시 매겨야 할 때 사용 (판정 캐시를 거치지 않고 새 판정으로 캐시도 갱신)
+    @Transactional
+    public void requestFullReanalysis(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("상품이 없습니다.");
         }
+        int cleared = reviewRepository.clearSentimentsByProductId(productId);
+        log.info("🔄 Full review re-analysis requested for product {} ({} reviews reset)", productId, cleared);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 거절돼도 초기화된 리뷰는 다음 리뷰 이벤트나 재요청 시 분석됨
+                if (!reviewAnalysisQueue.submit(productId, ReviewAnalysisQueue.Priority.VIEW, true)) {
+                    log.warn("⚠️ Full re-analysis for product {} not queued: analysis queue is full", productId);
+                }
+            }
+        });
     }
 
     // 내가 쓴 리뷰 조회
@@ -141,51 +254,43 @@ public class ReviewService {
         User user = userService.getCurrentUser();
         List<Review> reviews = reviewRepository.findByUserId(user.getId());
 
+        // 상품명은 공유 캐시에서 한 번에 조회 (리뷰마다 상품 엔티티를 읽지 않음), 이미지도 일괄 조회
+        Map<Long, String> productNames = productNameCache.getAll(
+                reviews.stream().map(Review::getProductId).collect(Collectors.toSet()));
+        Map<Long, List<String>> images = loadImages(reviews);
+
         List<ReviewResponseDto> dtos = new ArrayList<>();
         for (Review review : reviews) {
-            String productName = productRepository.findById(review.getProductId())
-                    .map(Product::getName)
-                    .orElse("삭제된 상품");
-
-            dtos.add(new ReviewResponseDto(review, productName));
+            dtos.add(new ReviewResponseDto(review,
+                    productNames.getOrDefault(review.getProductId(), "삭제된 상품"),
+                    images.getOrDefault(review.getId(), List.of())));
         }
         return dtos;
     }
 
     // --- Private Methods ---
 
-    private void updateProductStatsAndTriggerAnalysis(Product product, int countDelta, int scoreDelta) {
-        long currentCount = product.getReviewCount() + countDelta;
-        // countDelta가 양수일 때만 점수 합산, 삭제 시는 재계산 권장되지만 여기선 약식 구현 가능
-        // 하지만 평균 평점 관리가 복잡하므로, 안전하게 DB에서 다시 집계하는 방식을 추천.
-        // 여기서는 하이브리드로 처리: 카운트는 증감, 평점은 전체 재계산(정확도 위함)
-        
-        product.setReviewCount(Math.max(0, currentCount));
-        recalculateProductStats(product); // 평점 및 카운트 정확도 보정
-
-        // AI 재분석 트리거 (신규 리뷰가 5개 이상 쌓였을 때)
-        ReviewAnalysis analysis = product.getAnalysis();
-        int analyzedCount = (analysis != null) ? analysis.getAnalyzedReviewCount() : 0;
-        
-        if (product.getReviewCount() - analyzedCount >= 5 || analysis == null) {
-            productSyncService.analyzeProductReviews(product.getId());
+    // 리뷰ID -> 첨부 이미지 (1번 쿼리)
+    private Map<Long, List<String>> loadImages(List<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return Map.of();
         }
-    }
-    
-    private void recalculateProductStats(Product product) {
-        // DB에서 전체 리뷰 수와 평점 평균을 다시 계산
-        // (JPA 쿼리로 하거나 Java stream 처리)
-        List<Review> allReviews = reviewRepository.findByProductId(product.getId());
-        
-        long count = allReviews.size();
-        double avg = 0.0;
-        if (count > 0) {
-            double sum = allReviews.stream().mapToInt(Review::getScore).sum();
-            avg = Math.round((sum / count) * 10.0) / 10.0; // 소수점 첫째자리 반올림
+        Map<Long, List<String>> images = new HashMap<>();
+        for (Object[] row : reviewRepository.findImagesByReviewIdIn(reviews.stream().map(Review::getId).toList())) {
+            images.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
         }
-        
-        product.setReviewCount(count);
-        product.setAverageRating(avg);
-        productRepository.save(product);
+        return images;
+    }
+
+    // 리뷰가 바뀐 상품의 첫 페이지 캐시 제거 (커밋 이후, 다른 노드는 TTL로 갱신)
+    private void evictFirstPages(Long productId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (ReviewSort sort : ReviewSort.values()) {
+                    firstPageCache.invalidate(new FirstPageKey(productId, sort));
+                }
+            }
+        });
     }
 }
@@ -0,0 +1,135 @@
+package com.hyodream.backend.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 리뷰 통계(review_count, review_score_sum, average_rating) 보정
+ * - 평소에는 리뷰 작성/수정/삭제 시 증분 UPDATE로만 갱신 (ProductRepository.applyReviewDelta)
+ * - 외부에서 직접 넣은 리뷰, 실패한 트랜잭션 등으로 어긋난 값을 reviews 집계 기준으로 바로잡음
+ * - 상품 ID 순으로 청크 단위 처리: 상품 행을 먼저 잠근 뒤 집계 -> 진행 중인 리뷰 작성의 증분과 겹치지 않음
+ * - 기동 시(컬럼 추가 직후 초기값 채우기 겸) + 매일 새벽 (ProductScheduler)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewStatsReconciler {
+
+    private static final String LOCK_KEY = "review-stats:reconcile:lock";
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String LOCK_PRODUCTS_SQL = """
+            SELECT id, review_count, review_score_sum FROM products
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE
+            """;
+    private static final String AGGREGATE_SQL = """
+            SELECT product_id, COUNT(*), COALESCE(SUM(score), 0) FROM reviews
+            WHERE product_id BETWEEN ? AND ?
+            GROUP BY product_id
+            """;
+    private static final String FIX_SQL = """
+            UPDATE products
+            SET review_count = ?, review_score_sum = ?,
+                average_rating = CASE WHEN ? > 0 THEN ROUND(? / ?, 1) ELSE 0 END
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Counter correctedCounter;
+
+    @PostConstruct
+    public void init() {
+        correctedCounter = Counter.builder("review.stats.corrected")
+                .description("보정 작업에서 값이 어긋나 바로잡은 상품 수")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    // 전체 상품 보정 (다른 노드가 진행 중이면 건너뜀), 보정한 상품 수 반환
+    public int reconcile() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofMinutes(30));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("⏭️ Review stats reconcile skipped: another node is running it");
+            return 0;
+        }
+        try {
+            long lastId = 0;
+            int corrected = 0;
+            while (true) {
+                long afterId = lastId;
+                long[] result = transactionTemplate.execute(status -> reconcileChunk(afterId));
+                if (result == null || result[0] == 0) {
+                    break;
+                }
+                lastId = result[1];
+                corrected += (int) result[2];
+            }
+            correctedCounter.increment(corrected);
+            log.info("🧮 Review stats reconciled ({} products corrected)", corrected);
+            return corrected;
+        } catch (Exception e) {
+            log.error("⚠️ Review stats reconcile failed: {}", e.getMessage());
+            return 0;
+        } finally {
+            redisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    // [처리한 상품 수, 마지막 상품 ID, 보정한 상품 수]
+    private long[] reconcileChunk(long afterId) {
+        List<long[]> products = jdbcTemplate.query(LOCK_PRODUCTS_SQL,
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) },
+                afterId, CHUNK_SIZE);
+        if (products.isEmpty()) {
+            return new long[] { 0, afterId, 0 };
+        }
+        long firstId = products.get(0)[0];
+        long lastId = products.get(products.size() - 1)[0];
+
+        // 상품ID -> [리뷰 수, 평점 합계]
+        Map<Long, long[]> actual = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_SQL, rs -> {
+            actual.put(rs.getLong(1), new long[] { rs.getLong(2), rs.getLong(3) });
+        }, firstId, lastId);
+
+        List<Object[]> fixes = new ArrayList<>();
+        for (long[] product : products) {
+            long[] stats = actual.getOrDefault(product[0], new long[2]);
+            if (product[1] != stats[0] || product[2] != stats[1]) {
+                fixes.add(new Object[] { stats[0], stats[1], stats[0], stats[1], stats[0], product[0] });
+            }
+        }
+        if (!fixes.isEmpty()) {
+            jdbcTemplate.batchUpdate(FIX_SQL, fixes);
+        }
+        return new long[] { products.size(), lastId, fixes.size() };
+    }
+}
@@ -0,0 +1,431 @@
+package com.hyodream.backend.product.service;
+
+import com.hyodream.backend.order.repository.OrderItemRepository;
+import com.hyodream.backend.product.repository.ProductDailySalesRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 판매량 카운터 (Write-Behind)
+ * - 주문/취소 시 상품 행을 읽고 고치지 않고, (상품, 주문일)별 증감분만 Redis 해시(sales:delta)에 누적 (핫 상품 행 락 경합/갱신 유실 제거)
+ * - 주문 이벤트는 증감(HINCRBY)과 이벤트 처리 완료 표시를 Lua 한 번에 기록 -> 서버가 죽어도 유실/이중 반영 없음
+ * - 재전달되지 않는 경로(record/recordAll)는 LongAdder에 모았다가 1초마다 HINCRBY로 옮김 (최대 1초 분량 유실 가능)
+ * - 10초마다 한 노드가 Redis 해시를 가져가서 MySQL에 배치 반영
+ *   (total_sales/recent_sales 증감 + 일일 판매량 버킷 product_daily_sales UPSERT)
+ *   가져간 해시마다 배치 ID를 붙이고 같은 트랜잭션에서 sales_flush_log에 기록 -> 반영 후 해시 삭제 전에 죽어도 다시 더하지 않음
+ * - 최근 30일 판매량(recent_sales)은 매일 자정 윈도우를 벗어난 날짜의 버킷만큼 차감 (해당 날짜에 팔린 상품만 갱신)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesCounter {
+
+    public static final int RECENT_WINDOW_DAYS = 30;
+
+    private static final String DELTA_KEY = "sales:delta";
+    private static final String FLUSHING_KEY = "sales:delta:flushing";
+    private static final String LOCK_KEY = "sales:flush:lock";
+    // flushing 해시 안의 배치 ID 필드 (상품 필드 "상품ID:yyyyMMdd"와 겹치지 않음)
+    private static final String BATCH_FIELD = "#batch";
+    // 이 날짜(포함)까지의 버킷은 recent_sales에서 이미 빠졌음
+    private static final String EXPIRED_THROUGH_KEY = "sales:recent:expired-through";
+
+    private static final DateTimeFormatter FIELD_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_SALES_SQL = """
+            UPDATE products
+               SET total_sales = GREATEST(total_sales + ?, 0),
+                   recent_sales = GREATEST(recent_sales + ?, 0)
+             WHERE id = ?
+            """;
+
+    private static final String UPSERT_DAILY_SQL = """
+            INSERT INTO product_daily_sales (product_id, sales_date, quantity)
+            VALUES (?, ?, ?) AS d
+            ON DUPLICATE KEY UPDATE quantity = product_daily_sales.quantity + d.quantity
+            """;
+
+    // 이미 반영한 배치면 0행 (PK 중복 무시)
+    private static final String INSERT_FLUSH_LOG_SQL =
+            "INSERT IGNORE INTO sales_flush_log (batch_id, flushed_at) VALUES (?, ?)";
+
+    private static final String SUBTRACT_RECENT_SQL = """
+            UPDATE products SET recent_sales = GREATEST(recent_sales - ?, 0) WHERE id = ?
+            """;
+
+    // 윈도우 초기화(또는 장기 중단 후 복구) 시 1회: 버킷 합계로 recent_sales 재계산
+    private static final String REBUILD_RECENT_SQL = """
+            UPDATE products p
+              LEFT JOIN (SELECT product_id, SUM(quantity) AS q
+                           FROM product_daily_sales
+                          WHERE sales_date > ?
+                          GROUP BY product_id) s ON s.product_id = p.id
+               SET p.recent_sales = GREATEST(COALESCE(s.q, 0), 0)
+            """;
+
+    // 내가 잡은 락일 때만 해제
+    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // 주문 이벤트 반영: 완료 표시를 선점한 경우에만 증감 기록 (KEYS[1] 완료 표시, KEYS[2] 델타 로그, ARGV: TTL초, 필드/증감 쌍)
+    private static final RedisScript<Long> RECORD_EVENT_SCRIPT = RedisScript.of("""
+            if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[1]) then
+                return 0
+            end
+            for i = 2, #ARGV, 2 do
+                redis.call('HINCRBY', KEYS[2], ARGV[i], ARGV[i + 1])
+            end
+            return 1
+            """, Long.class);
+
+    // 델타 로그를 flushing으로 넘기고 배치 ID를 붙임 (이전 flushing이 남아 있으면 그 배치 ID를 그대로 반환, 없으면 nil)
+    private static final RedisScript<String> TAKE_BATCH_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                if redis.call('EXISTS', KEYS[1]) == 0 then
+                    return false
+                end
+                redis.call('RENAME', KEYS[1], KEYS[2])
+            end
+            redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[2])
+            return redis.call('HGET', KEYS[2], ARGV[1])
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductDailySalesRepository productDailySalesRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final SalesLeaderboard salesLeaderboard;
+
+    // 일일 판매량 버킷 보관 기간
+    @Value("${sales.daily.retention-days:400}")
+    private int retentionDays;
+
+    // 반영한 배치 ID 보관 기간 (flushing 해시가 이보다 오래 남아 있지는 않음)
+    @Value("${sales.flush-log.retention-hours:24}")
+    private int flushLogRetentionHours;
+
+    // "상품ID:yyyyMMdd" -> 증감분 (재전달되지 않는 경로만, 옮긴 항목은 제거)
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 판매량 증감 기록 (salesDate = 주문일, 트랜잭션 안이면 커밋된 경우에만 반영)
+    public void record(Long productId, LocalDate salesDate, long delta) {
+        if (productId == null) {
+            return; // Map.of는 null 키를 허용하지 않음 (recordAll과 같이 무시)
+        }
+        recordAll(Map.of(productId, delta), salesDate);
+    }
+
+    // 여러 상품의 증감을 한 번에 기록 (주문 1건당 커밋 훅 1개)
+    public void recordAll(Map<Long, ? extends Number> deltas, LocalDate salesDate) {
+        Map<String, Long> fields = fields(deltas, salesDate);
+        if (fields.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fields.forEach(SalesCounter.this::add);
+                }
+            });
+        } else {
+            fields.forEach(this::add);
+        }
+    }
+
+    // 도메인 이벤트의 증감을 델타 로그에 바로 기록 (처리 완료 표시와 함께, 메모리를 거치지 않음)
+    // @return false면 이미 반영된 이벤트
+    public boolean recordEvent(String doneKey, Duration doneTtl, Map<Long, ? extends Number> deltas, LocalDate salesDate) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(doneTtl.toSeconds()));
+        fields(deltas, salesDate).forEach((field, delta) -> {
+            args.add(field);
+            args.add(delta.toString());
+        });
+        Long claimed = redisTemplate.execute(RECORD_EVENT_SCRIPT, List.of(doneKey, DELTA_KEY), args.toArray());
+        return claimed != null && claimed == 1;
+    }
+
+    // 상품ID -> 증감 => "상품ID:yyyyMMdd" -> 증감 (0과 null 상품은 제외)
+    private Map<String, Long> fields(Map<Long, ? extends Number> deltas, LocalDate salesDate) {
+        Map<String, Long> fields = new HashMap<>();
+        String date = salesDate.format(FIELD_DATE);
+        deltas.forEach((productId, delta) -> {
+            if (productId != null && delta.longValue() != 0) {
+                fields.merge(productId + ":" + date, delta.longValue(), Long::sum);
+            }
+        });
+        return fields;
+    }
+
+    // checkpoint의 제거와 겹쳐도 증감이 빠진 항목에 더해지지 않도록 키 단위로 원자적으로 누적
+    private void add(String field, long delta) {
+        pending.compute(field, (f, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(delta);
+            return target;
+        });
+    }
+
+    // 1초마다: 메모리 누적분 -> Redis 델타 로그 (파이프라인 HINCRBY)
+    @Scheduled(fixedDelay = 1000)
+    public void checkpoint() {
+        Map<String, Long> deltas = new HashMap<>();
+        pending.forEach((field, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(field, delta);
+            }
+            // 옮긴 항목은 제거 (상품 x 날짜마다 항목이 계속 쌓이지 않도록, 그 사이 더해졌으면 남겨 둠)
+            pending.computeIfPresent(field, (f, a) -> a.sum() == 0 ? null : a);
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                deltas.forEach((field, delta) -> conn.hIncrBy(DELTA_KEY, field, delta));
+                return null;
+            });
+        } catch (Exception e) {
+            // Redis 장애 시 메모리로 되돌려 두고 다음 주기에 재시도
+            deltas.forEach(this::add);
+            log.error("⚠️ Sales checkpoint failed ({} entries): {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    // 10초마다: Redis 델타 로그 -> MySQL 배치 반영 (노드 간 락으로 한 곳에서만 실행)
+    @Scheduled(fixedDelay = 10000)
+    public void flush() {
+        withLock(Duration.ofSeconds(30), () -> {
+            boolean rolled = advanceWindow(); // 자정 작업이 락 경합으로 밀렸어도 여기서 따라잡음
+            flushDeltaLog(true);
+            if (rolled || !salesLeaderboard.exists()) {
+                salesLeaderboard.rebuild();
+            }
+        });
+    }
+
+    // 매일 자정 (ProductScheduler): 윈도우를 벗어난 날짜의 버킷을 recent_sales에서 차감 + 오래된 버킷 정리
+    public void rollRecentSalesWindow() {
+        boolean ran = withLock(Duration.ofMinutes(10), () -> {
+            advanceWindow();
+            // 윈도우 이동으로 많은 상품 점수가 바뀌었으므로 리더보드 전체 재구성 (DB와 주기적 동기화 겸용)
+            salesLeaderboard.rebuild();
+            purgeOldBuckets();
+        });
+        if (!ran) {
+            log.warn("⏭️ Recent sales roll skipped: another node holds the sales lock (next flush will catch up)");
+        }
+    }
+
+    // 윈도우가 움직였으면 true
+    private boolean advanceWindow() {
+        LocalDate target = LocalDate.now().minusDays(RECENT_WINDOW_DAYS);
+        LocalDate expiredThrough = expiredThrough();
+
+        // 처음이거나 윈도우 길이 이상 밀렸으면 차감 대신 재계산
+        if (expiredThrough == null || expiredThrough.plusDays(RECENT_WINDOW_DAYS).isBefore(target)) {
+            initializeWindow();
+            return true;
+        }
+        boolean rolled = false;
+        for (LocalDate day = expiredThrough.plusDays(1); !day.isAfter(target); day = day.plusDays(1)) {
+            expireDay(day);
+            rolled = true;
+        }
+        return rolled;
+    }
+
+    // writeBuckets = false: 버킷을 주문 이력으로 초기 적재하기 직전 (판매량 컬럼만 반영, 버킷 중복 방지)
+    private void flushDeltaLog(boolean writeBuckets) {
+        // 직전 flush가 해시 삭제 전에 죽었으면 그 분량부터 처리 (같은 배치 ID라 이미 반영됐으면 건너뜀)
+        String batchId = redisTemplate.execute(TAKE_BATCH_SCRIPT, List.of(DELTA_KEY, FLUSHING_KEY),
+                BATCH_FIELD, UUID.randomUUID().toString());
+        if (batchId == null) {
+            return;
+        }
+
+        LocalDate expiredThrough = expiredThrough();
+        Map<Long, long[]> productDeltas = new HashMap<>(); // 상품ID -> [전체 증감, 최근 30일 증감]
+        List<Object[]> bucketArgs = new ArrayList<>();
+
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(FLUSHING_KEY);
+        entries.forEach((rawField, rawDelta) -> {
+            if (BATCH_FIELD.equals(rawField.toString())) {
+                return;
+            }
+            long delta = Long.parseLong(rawDelta.toString());
+            if (delta == 0) {
+                return;
+            }
+            String[] parts = rawField.toString().split(":");
+            Long productId = Long.valueOf(parts[0]);
+            LocalDate salesDate = parts.length > 1 ? LocalDate.parse(parts[1], FIELD_DATE) : LocalDate.now();
+
+            long[] sums = productDeltas.computeIfAbsent(productId, id -> new long[2]);
+            sums[0] += delta;
+            // 이미 윈도우에서 빠진 날짜(예: 오래된 주문 취소)는 recent_sales에 반영하지 않음
+            if (expiredThrough == null || salesDate.isAfter(expiredThrough)) {
+                sums[1] += delta;
+            }
+            bucketArgs.add(new Object[] { productId, Date.valueOf(salesDate), delta });
+        });
+
+        List<Object[]> salesArgs = new ArrayList<>(productDeltas.size());
+        productDeltas.forEach((productId, sums) -> salesArgs.add(new Object[] { sums[0], sums[1], productId }));
+
+        Boolean applied = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(INSERT_FLUSH_LOG_SQL, batchId, Timestamp.valueOf(LocalDateTime.now())) == 0) {
+                return false;
+            }
+            jdbcTemplate.batchUpdate(UPDATE_SALES_SQL, salesArgs);
+            if (writeBuckets) {
+                jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, bucketArgs);
+            }
+            return true;
+        });
+        redisTemplate.delete(FLUSHING_KEY);
+        if (!Boolean.TRUE.equals(applied)) {
+            log.warn("⏭️ Sales batch {} was already applied, dropped leftover delta log", batchId);
+            return;
+        }
+        log.debug("Sales flushed: {} products, {} daily buckets", salesArgs.size(), bucketArgs.size());
+
+        refreshLeaderboard(productDeltas.keySet());
+    }
+
+    // 판매량이 바뀐 상품만 DB 최종값으로 리더보드 점수 갱신 (실패해도 다음 재구성 때 맞춰짐)
+    private void refreshLeaderboard(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            String placeholders = String.join(",", Collections.nCopies(productIds.size(), "?"));
+            Map<Long, Integer> recentSales = new HashMap<>();
+            jdbcTemplate.query("SELECT id, recent_sales FROM products WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        recentSales.put(rs.getLong(1), rs.getInt(2));
+                    },
+                    productIds.toArray());
+            salesLeaderboard.update(recentSales);
+        } catch (Exception e) {
+            log.warn("Leaderboard refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // 하루치 버킷을 recent_sales에서 차감 (그 날 팔린 상품만, 청크 단위 배치 UPDATE)
+    private void expireDay(LocalDate day) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> args = jdbcTemplate.query(
+                    "SELECT quantity, product_id FROM product_daily_sales WHERE sales_date = ? AND quantity <> 0",
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getLong(2) },
+                    Date.valueOf(day));
+            for (int from = 0; from < args.size(); from += CHUNK_SIZE) {
+                jdbcTemplate.batchUpdate(SUBTRACT_RECENT_SQL, args.subList(from, Math.min(from + CHUNK_SIZE, args.size())));
+            }
+            log.info("📉 Expired daily sales bucket {} from recent sales ({} products)", day, args.size());
+        });
+        redisTemplate.opsForValue().set(EXPIRED_THROUGH_KEY, day.toString());
+    }
+
+    // 버킷 테이블이 비어 있으면 주문 이력으로 채운 뒤, 버킷 합계로 recent_sales 재계산
+    private void initializeWindow() {
+        LocalDate target = LocalDate.now().minusDays(RECENT_WINDOW_DAYS);
+
+        if (productDailySalesRepository.count() == 0) {
+            // 델타 로그의 주문은 이미 orders에 기록되어 있으므로 판매량 컬럼에만 반영 (버킷은 아래에서 이력으로 채움)
+            flushDeltaLog(false);
+
+            List<Object[]> rows = orderItemRepository.countDailySalesByProductSince(
+                    LocalDate.now().minusDays(retentionDays).atStartOfDay());
+            List<Object[]> bucketArgs = rows.stream()
+                    .map(r -> new Object[] { ((Number) r[0]).longValue(), r[1], ((Number) r[2]).longValue() })
+                    .toList();
+            for (int from = 0; from < bucketArgs.size(); from += CHUNK_SIZE) {
+                jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL,
+                        bucketArgs.subList(from, Math.min(from + CHUNK_SIZE, bucketArgs.size())));
+            }
+            log.info("🗂️ Backfilled {} daily sales buckets from order history", bucketArgs.size());
+        }
+
+        int updated = jdbcTemplate.update(REBUILD_RECENT_SQL, Date.valueOf(target));
+        redisTemplate.opsForValue().set(EXPIRED_THROUGH_KEY, target.toString());
+        log.info("🔄 Rebuilt recent sales window (after {}): {} products", target, updated);
+    }
+
+    private void purgeOldBuckets() {
+        Date cutoff = Date.valueOf(LocalDate.now().minusDays(retentionDays));
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM product_daily_sales WHERE sales_date < ? LIMIT " + CHUNK_SIZE, cutoff);
+        } while (deleted == CHUNK_SIZE);
+        jdbcTemplate.update("DELETE FROM sales_flush_log WHERE flushed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(flushLogRetentionHours)));
+    }
+
+    private LocalDate expiredThrough() {
+        String value = redisTemplate.opsForValue().get(EXPIRED_THROUGH_KEY);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    // flush와 자정 롤링이 서로 끼어들지 않도록 같은 락 사용
+    private boolean withLock(Duration ttl, Runnable task) {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, ttl);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("⚠️ Sales job failed: {}", e.getMessage());
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), nodeId);
+        }
+        return true;
+    }
+
+    // 종료 시 메모리 누적분을 Redis로 옮겨 둠 (DB 반영은 다음 flush에서)
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+}
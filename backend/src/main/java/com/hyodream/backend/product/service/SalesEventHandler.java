@@ -0,0 +1,42 @@
+package com.hyodream.backend.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyodream.backend.global.outbox.AtomicDomainEventHandler;
+import com.hyodream.backend.global.outbox.DomainEvent;
+import com.hyodream.backend.global.outbox.DomainEventType;
+import com.hyodream.backend.order.dto.OrderEventPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// 주문 완료/취소 -> 판매량 카운터 증감 (주문일 기준 일일 버킷, 처리 완료 표시와 함께 델타 로그에 바로 기록)
+@Component
+@RequiredArgsConstructor
+public class SalesEventHandler implements AtomicDomainEventHandler {
+
+    private final SalesCounter salesCounter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "sales";
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.ORDER_PLACED || type == DomainEventType.ORDER_CANCELED;
+    }
+
+    @Override
+    public boolean handle(DomainEvent event, String doneKey, Duration doneTtl) throws Exception {
+        OrderEventPayload order = objectMapper.readValue(event.payload(), OrderEventPayload.class);
+        int sign = event.type() == DomainEventType.ORDER_PLACED ? 1 : -1;
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        order.countsByProduct().forEach((productId, count) -> deltas.put(productId, sign * count));
+        return salesCounter.recordEvent(doneKey, doneTtl, deltas, order.orderDate().toLocalDate());
+    }
+}
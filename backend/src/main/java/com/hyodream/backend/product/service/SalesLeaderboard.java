@@ -0,0 +1,221 @@
+package com.hyodream.backend.product.service;
+
+import com.hyodream.backend.product.domain.Product;
+import com.hyodream.backend.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 인기순(최근 30일 판매량) 리더보드
+ * - Redis ZSet(leaderboard:recent-sales:v2)에 상품별 recent_sales를 점수로 보관 (판매량 0인 상품 포함 전체 카탈로그)
+ * - 점수 = (판매량 << ID_BITS) | 상품ID -> 판매량이 같으면 ID 내림차순 (DB 정렬 recentSales desc, id desc와 동일)
+ *   ZSet 기본 동점 처리는 멤버 문자열 역순이라 "9" > "10"이 되므로 ID를 점수에 포함
+ * - SalesCounter가 flush 시 바뀐 상품만 갱신, 윈도우 이동(자정) 후에는 전체 재구성
+ * - 인기순 목록은 ZREVRANGE + 상품 일괄 조회로 제공 (정렬 쿼리 없음), 알러지 필터는 넉넉히 가져와서 후처리
+ * - 리더보드가 비어 있거나 후처리로 채우기 어려운 깊은 페이지는 null을 반환 -> 호출부에서 DB 정렬로 대체
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesLeaderboard {
+
+    // 점수 형식이 바뀌어 키를 분리 (이전 형식 키는 남아 있어도 읽지 않음, 새 키가 없으면 flush에서 재구성)
+    private static final String KEY = "leaderboard:recent-sales:v2";
+    private static final String REBUILD_KEY = KEY + ":rebuild";
+
+    // 알러지 후처리 시 최대로 훑어볼 순위 수 (이보다 깊으면 DB 정렬로 대체)
+    private static final int MAX_SCAN = 1000;
+    // 검색 결과를 리더보드 점수로 정렬할 수 있는 최대 건수 (검색 ID 조회도 이 건수 + 1까지만)
+    public static final int MAX_SEARCH_IDS = 2000;
+    private static final int CHUNK_SIZE = 1000;
+    // 점수 하위 비트에 담는 상품ID 비트 수: ID 약 6700만, 판매량 약 1.3억까지 double 정수 정밀도(53비트) 안에서 정확
+    private static final int ID_BITS = 26;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean exists() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY));
+    }
+
+    // 판매량이 바뀐 상품들의 점수 갱신 (DB에 반영된 최종값으로 ZADD -> 멱등)
+    public void update(Map<Long, Integer> recentSales) {
+        if (recentSales.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            recentSales.forEach((id, sales) -> conn.zAdd(KEY, score(sales, id), String.valueOf(id)));
+            return null;
+        });
+    }
+
+    // 신규 상품 등록 시 판매량 0으로 추가 (커밋 이후)
+    public void addNew(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        Runnable task = () -> {
+            try {
+                redisTemplate.opsForZSet().addIfAbsent(KEY, String.valueOf(productId), score(0, productId));
+            } catch (Exception e) {
+                log.warn("Leaderboard add failed for product {}: {}", productId, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    public void remove(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForZSet().remove(KEY, productIds.stream().map(String::valueOf).toArray());
+    }
+
+    // DB 기준 전체 재구성: 임시 키에 채운 뒤 RENAME으로 교체 (조회 중인 요청은 항상 완성된 리더보드를 봄)
+    public void rebuild() {
+        List<Object[]> rows = jdbcTemplate.query("SELECT id, recent_sales FROM products",
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getInt(2) });
+
+        redisTemplate.delete(REBUILD_KEY);
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (Object[] row : chunk) {
+                    conn.zAdd(REBUILD_KEY, score((Integer) row[1], (Long) row[0]), String.valueOf(row[0]));
+                }
+                return null;
+            });
+        }
+
+        if (rows.isEmpty()) {
+            redisTemplate.delete(KEY);
+        } else {
+            redisTemplate.rename(REBUILD_KEY, KEY);
+        }
+        log.info("🏆 Rebuilt sales leaderboard ({} products)", rows.size());
+    }
+
+    // 인기순 페이지 (알러지 필터가 없으면 순위 구간만 조회, 있으면 앞에서부터 넉넉히 가져와 후처리)
+    // totalElements는 두 경우 모두 DB 개수 (DB 정렬 대체 경로와 같은 기준, 리더보드 갱신 지연에 영향받지 않음)
+    public Page<Product> page(Pageable pageable, boolean filterAllergies, List<String> userAllergies) {
+        Long total = redisTemplate.opsForZSet().zCard(KEY);
+        if (total == null || total == 0) {
+            return null;
+        }
+
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+
+        if (!filterAllergies) {
+            List<Long> ids = range(offset, offset + size - 1);
+            return new PageImpl<>(loadInOrder(ids), pageable,
+                    productRepository.countWithPersonalization(false, userAllergies));
+        }
+
+        long needed = offset + size;
+        if (needed > MAX_SCAN) {
+            return null;
+        }
+
+        List<Product> safe = new ArrayList<>();
+        long rank = 0;
+        int chunk = (int) Math.max(needed * 2, 50); // 알러지로 걸러질 것을 감안해 2배씩
+        while (safe.size() < needed && rank < Math.min(total, MAX_SCAN)) {
+            List<Long> ids = range(rank, Math.min(rank + chunk, MAX_SCAN) - 1); // MAX_SCAN 순위까지만
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Product p : loadInOrder(ids)) {
+                if (p.getAllergens().stream().noneMatch(userAllergies::contains)) {
+                    safe.add(p);
+                }
+            }
+            rank += ids.size();
+        }
+
+        if (safe.size() < needed && rank < total) {
+            return null; // 훑어본 범위 안에서 페이지를 못 채움
+        }
+
+        List<Product> content = offset >= safe.size()
+                ? List.of()
+                : safe.subList((int) offset, (int) Math.min(needed, safe.size()));
+        long safeTotal = productRepository.countWithPersonalization(true, userAllergies);
+        return new PageImpl<>(content, pageable, safeTotal);
+    }
+
+    // 후보 상품 ID들을 리더보드 점수(최근 판매량) 순으로 정렬 (검색 결과용), 불가하면 null
+    public List<Long> sortByScore(List<Long> productIds) {
+        if (productIds.size() > MAX_SEARCH_IDS || !exists()) {
+            return null;
+        }
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        List<Double> scores = redisTemplate.opsForZSet()
+                .score(KEY, productIds.stream().map(String::valueOf).toArray());
+        if (scores == null) {
+            return null;
+        }
+
+        // 점수에 ID가 포함돼 있어 점수 내림차순만으로 판매량 desc, id desc 순서 (리더보드에 없는 상품은 판매량 0 취급)
+        List<long[]> ranked = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            Long id = productIds.get(i);
+            Double score = scores.get(i);
+            ranked.add(new long[] { id, score == null ? (long) score(0, id) : score.longValue() });
+        }
+        ranked.sort(Comparator.<long[]>comparingLong(r -> r[1]).reversed());
+        return ranked.stream().map(r -> r[0]).toList();
+    }
+
+    // 주어진 ID 순서대로 상품 조회 (삭제된 상품은 제외)
+    public List<Product> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> productMap = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream().map(productMap::get).filter(p -> p != null).toList();
+    }
+
+    private double score(int sales, long productId) {
+        return (double) (((long) sales << ID_BITS) | productId);
+    }
+
+    private List<Long> range(long start, long end) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(KEY, start, end);
+        return members == null ? List.of() : members.stream().map(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,203 @@
+package com.hyodream.backend.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 한정 수량 상품 재고 (선착순 프로모션용)
+ * - 기준 수량: products.stock_quantity (null이면 무제한). 엔티티 저장으로는 바뀌지 않고 원자적 UPDATE로만 변경
+ * - Redis stock:{productId}: 주문 시점에 Lua로 주문 내 한정 상품들을 한 번에 예약 (하나라도 부족하면 아무것도 차감하지 않음)
+ * - 예약에 성공한 주문만 MySQL 조건부 차감(stock_quantity >= 수량)으로 확정 -> 품절 후 몰리는 구매자는 DB 행 잠금을 잡지 않음
+ *   (여러 상품은 ID 순으로 차감해 주문 간 교착 방지)
+ * - 주문 트랜잭션이 롤백되면 예약을 되돌리고(보상), 주문 취소 시에는 DB/Redis 모두 복구
+ * - Redis 키가 없으면(최초 주문, Redis 재시작) DB 수량으로 SETNX 초기화 -> DB 조건부 차감이 최종 방어선이라 초과 판매 없음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockService {
+
+    private static final String KEY_PREFIX = "stock:";
+
+    // KEYS = 재고 키들 / ARGV = 예약 수량들 (같은 순서)
+    // 0: 예약 성공, i > 0: KEYS[i] 재고 부족, i < 0: KEYS[-i] 미초기화 (둘 다 아무것도 차감하지 않음)
+    private static final RedisScript<Long> RESERVE_SCRIPT = RedisScript.of("""
+            for i = 1, #KEYS do
+                local stock = redis.call('GET', KEYS[i])
+                if not stock then
+                    return -i
+                end
+                if tonumber(stock) < tonumber(ARGV[i]) then
+                    return i
+                end
+            end
+            for i = 1, #KEYS do
+                redis.call('DECRBY', KEYS[i], ARGV[i])
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS = 재고 키들 / ARGV = 되돌릴 수량들. 키가 없으면 건너뜀 (다음 초기화 때 DB 값으로 맞춰짐)
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            for i = 1, #KEYS do
+                if redis.call('EXISTS', KEYS[i]) == 1 then
+                    redis.call('INCRBY', KEYS[i], ARGV[i])
+                end
+            end
+            return 0
+            """, Long.class);
+
+    private static final String DECREASE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    private static final String INCREASE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ? AND stock_quantity IS NOT NULL";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 주문 트랜잭션 안에서 호출: Redis 예약 -> DB 확정. 롤백되면 예약은 자동으로 되돌림
+     * @param counts         한정 상품ID -> 주문 수량
+     * @param currentStocks  한정 상품ID -> 주문 시 조회한 DB 재고 (Redis 키 초기화용)
+     */
+    public void reserve(Map<Long, Integer> counts, Map<Long, Integer> currentStocks) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("재고 예약은 주문 트랜잭션 안에서만 가능합니다.");
+        }
+
+        // 상품ID 순으로 차감 (주문마다 행 잠금 순서가 같아야 교착이 생기지 않음)
+        List<Long> productIds = new ArrayList<>(counts.keySet());
+        productIds.sort(null);
+        List<String> keys = productIds.stream().map(this::key).toList();
+        Object[] quantities = productIds.stream().map(id -> String.valueOf(counts.get(id))).toArray();
+
+        // 미초기화 키는 하나씩 초기화하며 재시도 (상품 수 + 1회면 충분)
+        for (int attempt = 0; attempt <= productIds.size(); attempt++) {
+            Long result = redisTemplate.execute(RESERVE_SCRIPT, keys, quantities);
+            if (result == null) {
+                break;
+            }
+            if (result > 0) {
+                throw new RuntimeException("재고가 부족합니다. (상품 ID: " + productIds.get(result.intValue() - 1) + ")");
+            }
+            if (result < 0) {
+                Long productId = productIds.get(-result.intValue() - 1);
+                redisTemplate.opsForValue().setIfAbsent(key(productId),
+                        String.valueOf(Math.max(0, currentStocks.getOrDefault(productId, 0))));
+                continue;
+            }
+
+            // 예약 성공: 롤백 시 보상 등록 후 DB 확정
+            ReservationCompensation compensation = new ReservationCompensation(keys, quantities);
+            TransactionSynchronizationManager.registerSynchronization(compensation);
+            for (Long productId : productIds) {
+                int count = counts.get(productId);
+                if (jdbcTemplate.update(DECREASE_SQL, count, productId, count) == 0) {
+                    // Redis가 DB보다 많이 남아 있었음 -> 롤백 시 되돌리지 말고 키를 지워 DB 값으로 다시 초기화
+                    compensation.resync = true;
+                    throw new RuntimeException("재고가 부족합니다. (상품 ID: " + productId + ")");
+                }
+            }
+            return;
+        }
+        throw new RuntimeException("재고 정보를 불러오지 못했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    // 주문 취소 시 재고 복구 (한정 상품만 DB에 반영되고, Redis는 커밋 이후 되돌림)
+    public void restore(Map<Long, Integer> counts) {
+        Map<Long, Integer> restored = new HashMap<>();
+        new TreeMap<>(counts).forEach((productId, count) -> { // 예약과 같은 잠금 순서
+            if (jdbcTemplate.update(INCREASE_SQL, count, productId) > 0) {
+                restored.put(productId, count);
+            }
+        });
+        if (restored.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = restored.keySet().stream().map(this::key).toList();
+        Object[] quantities = restored.values().stream().map(String::valueOf).toArray();
+        Runnable release = () -> redisTemplate.execute(RELEASE_SCRIPT, keys, quantities);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    // 관리자: 남은 수량 설정 (null이면 무제한으로 전환). 진행 중인 예약과 무관하게 "지금부터 남은 수량"으로 덮어씀
+    @Transactional
+    public void setStock(Long productId, Integer quantity) {
+        if (quantity != null && quantity < 0) {
+            throw new RuntimeException("재고 수량은 0 이상이어야 합니다.");
+        }
+        if (jdbcTemplate.update("UPDATE products SET stock_quantity = ? WHERE id = ?", quantity, productId) == 0) {
+            throw new RuntimeException("존재하지 않는 상품입니다.");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (quantity == null) {
+                    redisTemplate.delete(key(productId));
+                } else {
+                    redisTemplate.opsForValue().set(key(productId), String.valueOf(quantity));
+                }
+            }
+        });
+        log.info("📦 Stock set for product {}: {}", productId, quantity == null ? "unlimited" : quantity);
+    }
+
+    private String key(Long productId) {
+        return KEY_PREFIX + productId;
+    }
+
+    // 주문 트랜잭션이 커밋되지 않으면 예약 수량을 되돌림 (DB와 어긋난 게 확인됐으면 키 삭제)
+    private class ReservationCompensation implements TransactionSynchronization {
+        private final List<String> keys;
+        private final Object[] quantities;
+        private boolean resync;
+
+        ReservationCompensation(List<String> keys, Object[] quantities) {
+            this.keys = keys;
+            this.quantities = quantities;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                return;
+            }
+            try {
+                if (resync) {
+                    redisTemplate.delete(keys);
+                } else {
+                    redisTemplate.execute(RELEASE_SCRIPT, keys, quantities);
+                }
+            } catch (Exception e) {
+                // 되돌리지 못한 수량만큼 덜 팔릴 뿐 초과 판매는 없음 (관리자 재설정 또는 키 재초기화로 복구)
+                log.error("⚠️ Stock reservation compensation failed {}: {}", keys, e.getMessage());
+            }
+        }
+    }
+}
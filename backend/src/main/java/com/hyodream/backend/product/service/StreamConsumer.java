@@ -1,52 +1,384 @@
 package com.hyodream.backend.product.service;
 
 import com.hyodream.backend.product.domain.EventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * product-view-stream 배치 소비자 (Consumer Group 기반)
+ * - 모든 백엔드 노드가 같은 그룹(interest-scorer)에 노드별 consumer 이름으로 참여 -> 이벤트는 그룹 내 한 노드에만 전달됨
+ * - 한 번의 poll에서 최대 batchSize 개의 이벤트를 읽어 (유저, 카테고리) 단위로 점수를 합산
+ * - 점수는 지수 감쇠 모델로 반영 (InterestService 참고)
+ * - 점수 반영과 XACK을 하나의 Lua 스크립트로 원자적으로 실행 -> 반영된 이벤트는 다시 전달되지 않음
+ * - 죽은 노드에 묶여 있는 pending 이벤트는 주기적으로 XPENDING + XCLAIM으로 회수하여 처리
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class StreamConsumer implements StreamListener<String, MapRecord<String, String, String>> {
+public class StreamConsumer {
+
+    public static final String STREAM_KEY = "product-view-stream";
+    private static final int RECLAIM_SCAN_PAGES = 10;
+
+    // KEYS[1] = 스트림, 이후 유저별 (점수 ZSet, 갱신 시각 Hash) 쌍
+    // ARGV[1] = 그룹, ARGV[2] = 현재 시각(초), ARGV[3] = 감쇠율 λ, ARGV[4] = GC TTL(초)
+    // ARGV[5] = 레코드 ID 개수(n), ARGV[6..5+n] = 레코드 ID, 이후 (ZSet 키 인덱스, 카테고리, 점수) 반복
+    // 기존 점수를 마지막 갱신 시각부터 지금까지 감쇠시킨 뒤 가산 -> 갱신 시각을 지금으로
+    private static final RedisScript<Long> APPLY_AND_ACK_SCRIPT = RedisScript.of("""
+            local group = ARGV[1]
+            local now = tonumber(ARGV[2])
+            local lambda = tonumber(ARGV[3])
+            local ttl = tonumber(ARGV[4])
+            local n = tonumber(ARGV[5])
+            local i = 6 + n
+            while i <= #ARGV do
+                local k = tonumber(ARGV[i])
+                local member = ARGV[i + 1]
+                local score = tonumber(redis.call('ZSCORE', KEYS[k], member) or '0')
+                local ts = tonumber(redis.call('HGET', KEYS[k + 1], member) or now)
+                score = score * math.exp(-lambda * math.max(0, now - ts)) + tonumber(ARGV[i + 2])
+                redis.call('ZADD', KEYS[k], score, member)
+                redis.call('HSET', KEYS[k + 1], member, now)
+                i = i + 3
+            end
+            for k = 2, #KEYS do
+                redis.call('EXPIRE', KEYS[k], ttl)
+            end
+            if n == 0 then
+                return 0
+            end
+            return redis.call('XACK', KEYS[1], group, unpack(ARGV, 6, 5 + n))
+            """, Long.class);
 
     private final StringRedisTemplate redisTemplate;
+    private final InterestService interestService;
+    private final TrendingService trendingService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${interest.stream.batch-size:200}")
+    private int batchSize;
+
+    @Value("${interest.stream.poll-timeout-ms:100}")
+    private long pollTimeoutMs;
+
+    @Value("${interest.stream.consumer-group:interest-scorer}")
+    private String consumerGroup;
+
+    // 노드별 consumer 이름 (Docker에서는 컨테이너 hostname)
+    @Value("${interest.stream.consumer-name:${HOSTNAME:}}")
+    private String consumerName;
+
+    @Value("${interest.stream.reclaim-interval-ms:30000}")
+    private long reclaimIntervalMs;
+
+    @Value("${interest.stream.reclaim-min-idle-ms:60000}")
+    private long reclaimMinIdleMs;
+
+    @Value("${interest.stream.max-deliveries:5}")
+    private long maxDeliveries;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "interest-stream-consumer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean running;
+
+    private Counter appliedCounter;
+    private Counter ignoredCounter;
+    private Counter reclaimedCounter;
+    private Counter deadLetterCounter;
+    private DistributionSummary batchSizeSummary;
+    private Timer applyTimer;
+
+    @PostConstruct
+    public void start() {
+        if (consumerName == null || consumerName.isBlank()) {
+            consumerName = "backend-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        appliedCounter = Counter.builder("interest.stream.events")
+                .description("관심사 점수에 반영된 이벤트 수")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        ignoredCounter = Counter.builder("interest.stream.events")
+                .description("카테고리 누락 등으로 무시된 이벤트 수")
+                .tag("result", "ignored")
+                .register(meterRegistry);
+        reclaimedCounter = Counter.builder("interest.stream.reclaimed")
+                .description("다른 노드에서 회수(XCLAIM)한 pending 이벤트 수")
+                .register(meterRegistry);
+        deadLetterCounter = Counter.builder("interest.stream.dead.letters")
+                .description("최대 전달 횟수를 넘겨 버려진 이벤트 수")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("interest.stream.batch.size")
+                .description("poll 1회당 읽은 이벤트 수")
+                .register(meterRegistry);
+        applyTimer = Timer.builder("interest.stream.apply")
+                .description("배치 1회를 Redis에 반영하는 데 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("interest.stream.lag", lagMillis, AtomicLong::get)
+                .description("마지막으로 처리한 이벤트의 발행 시각 대비 지연(ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        running = true;
+        executor.submit(this::pollLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(pollTimeoutMs * 10, TimeUnit.MILLISECONDS);
+    }
+
+    private void pollLoop() {
+        ensureGroup();
+        log.info("📡 Interest stream consumer started (group: {}, consumer: {}, batchSize: {})",
+                consumerGroup, consumerName, batchSize);
 
-    // 스트림에서 메시지가 오면 실행되는 함수
-    @Override
-    public void onMessage(MapRecord<String, String, String> message) {
-        Map<String, String> event = message.getValue();
-        String userId = event.get("userId");
-        String category = event.get("category"); // 예: "관절염"
-        String typeStr = event.get("type"); // "CLICK", "CART" ...
+        // 재시작 직후에는 내 이름으로 남아 있는 pending 이벤트부터 다시 처리
+        boolean drainOwnPending = true;
+        long nextReclaimAt = System.currentTimeMillis() + reclaimIntervalMs;
 
-        // 카테고리가 없거나 비어있으면 -> 점수 집계 안 하고 종료 (방어 로직)
-        if (category == null || category.trim().isEmpty() || "null".equals(category)) {
-            System.out.println("Event Ignored: No Category (UserId: " + userId + ")");
-            return;
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextReclaimAt) {
+                    reclaimIdlePending();
+                    nextReclaimAt = System.currentTimeMillis() + reclaimIntervalMs;
+                }
+
+                ReadOffset offset = drainOwnPending ? ReadOffset.from("0") : ReadOffset.lastConsumed();
+                // 단일 스트림 읽기지만 API가 제네릭 varargs라 경고 발생 -> 이 선언으로만 한정
+                @SuppressWarnings("unchecked")
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                        Consumer.from(consumerGroup, consumerName),
+                        StreamReadOptions.empty().count(batchSize).block(Duration.ofMillis(pollTimeoutMs)),
+                        StreamOffset.create(STREAM_KEY, offset));
+
+                if (records == null || records.isEmpty()) {
+                    drainOwnPending = false;
+                    continue;
+                }
+
+                processBatch(records);
+            } catch (Exception e) {
+                log.error("⚠️ Interest stream poll error: {}", e.getMessage());
+                if (e.getMessage() != null && e.getMessage().contains("NOGROUP")) {
+                    ensureGroup();
+                }
+                sleepQuietly(1000);
+            }
         }
+    }
 
-        // 점수 계산 로직
-        double score = 1.0; // 기본값
+    // 그룹이 없으면 생성 (스트림이 없으면 함께 생성, 이미 있으면 무시)
+    private void ensureGroup() {
         try {
-            // Enum에서 점수 꺼내오기
-            EventType type = EventType.valueOf(typeStr);
-            score = type.getScore();
+            redisTemplate.execute((RedisCallback<String>) connection -> createGroup(connection));
+            log.info("🆕 Created consumer group '{}' on {}", consumerGroup, STREAM_KEY);
         } catch (Exception e) {
-            System.err.println("알 수 없는 이벤트 타입: " + typeStr);
+            log.debug("Consumer group '{}' already exists: {}", consumerGroup, e.getMessage());
         }
+    }
+
+    private String createGroup(RedisConnection connection) {
+        return connection.streamCommands().xGroupCreate(
+                STREAM_KEY.getBytes(StandardCharsets.UTF_8), consumerGroup, ReadOffset.latest(), true);
+    }
+
+    // 일정 시간 이상 ACK되지 않은 이벤트(죽은 노드 몫)를 내 consumer로 회수하여 처리
+    // pending 목록을 ID 순으로 페이지 단위로 훑음 -> 앞쪽 항목이 아직 유휴 시간 전이어도 뒤쪽에 묶인 이벤트를 놓치지 않음
+    // 한 번에 훑는 양은 batchSize * RECLAIM_SCAN_PAGES로 제한 (나머지는 다음 주기에)
+    private void reclaimIdlePending() {
+        Duration minIdle = Duration.ofMillis(reclaimMinIdleMs);
+        List<RecordId> reclaimIds = new ArrayList<>();
+        List<RecordId> deadIds = new ArrayList<>();
 
-        System.out.println("Event Consumed: " + userId + " / " + category + " / +" + score + "점");
+        String lastId = null;
+        for (int page = 0; page < RECLAIM_SCAN_PAGES && reclaimIds.size() < batchSize; page++) {
+            // 이전 페이지의 마지막 ID부터 다시 조회 (포함 범위라 첫 항목은 건너뜀)
+            Range<String> range = lastId == null
+                    ? Range.unbounded()
+                    : Range.rightUnbounded(Range.Bound.inclusive(lastId));
+            PendingMessages pending = redisTemplate.opsForStream()
+                    .pending(STREAM_KEY, consumerGroup, range, batchSize + (lastId == null ? 0 : 1));
+            if (pending == null || pending.isEmpty()) {
+                break;
+            }
 
-        // Redis ZSet에 점수 누적
-        String key = "interest:user:" + userId;
-        redisTemplate.opsForZSet().incrementScore(key, category, score);
+            int fresh = 0;
+            for (PendingMessage message : pending) {
+                String id = message.getIdAsString();
+                if (id.equals(lastId)) {
+                    continue;
+                }
+                fresh++;
+                lastId = id;
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                    deadIds.add(message.getId());
+                } else if (reclaimIds.size() < batchSize) {
+                    reclaimIds.add(message.getId());
+                }
+            }
+            if (fresh < batchSize) {
+                break; // 마지막 페이지
+            }
+        }
+
+        // 계속 실패하는 이벤트는 더 이상 재시도하지 않고 ACK 처리 (Poison Message 방지)
+        if (!deadIds.isEmpty()) {
+            redisTemplate.opsForStream().acknowledge(STREAM_KEY, consumerGroup, deadIds.toArray(RecordId[]::new));
+            deadLetterCounter.increment(deadIds.size());
+            log.warn("☠️ Dropped {} events exceeding {} deliveries", deadIds.size(), maxDeliveries);
+        }
 
-        // TTL 설정: 36시간 (어르신 맞춤형)
-        redisTemplate.expire(key, Duration.ofHours(36));
+        if (!reclaimIds.isEmpty()) {
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    STREAM_KEY, consumerGroup, consumerName, minIdle, reclaimIds.toArray(RecordId[]::new));
+            if (claimed != null && !claimed.isEmpty()) {
+                reclaimedCounter.increment(claimed.size());
+                log.info("♻️ Reclaimed {} idle pending events", claimed.size());
+                processBatch(claimed);
+            }
+        }
+    }
+
+    private void processBatch(List<MapRecord<String, Object, Object>> records) {
+        batchSizeSummary.record(records.size());
+
+        // (유저 ID -> (카테고리 -> 누적 점수)) 형태로 배치 내 점수 합산
+        Map<String, Map<String, Double>> increments = new LinkedHashMap<>();
+        List<String> recordIds = new ArrayList<>(records.size());
+        List<TrendingService.ViewHit> hits = new ArrayList<>(records.size());
+        int applied = 0;
+
+        for (MapRecord<String, Object, Object> record : records) {
+            recordIds.add(record.getId().getValue());
+
+            Map<Object, Object> event = record.getValue();
+            String userId = asString(event.get("userId"));
+            String category = asString(event.get("category")); // 예: "관절염"
+            String typeStr = asString(event.get("type")); // "CLICK", "CART" ...
+
+            // 카테고리가 없거나 비어있으면 -> 점수 집계 안 하고 ACK만 (방어 로직)
+            if (category == null || category.trim().isEmpty() || "null".equals(category)) {
+                log.debug("Event Ignored: No Category (UserId: {})", userId);
+                ignoredCounter.increment();
+                hits.add(new TrendingService.ViewHit(userId, asString(event.get("productId")), null));
+                continue;
+            }
+            hits.add(new TrendingService.ViewHit(userId, asString(event.get("productId")), category));
+
+            increments.computeIfAbsent(userId, k -> new HashMap<>())
+                    .merge(category, scoreOf(typeStr), Double::sum);
+            applied++;
+        }
+
+        applyTimer.record(() -> applyAndAcknowledge(increments, recordIds));
+
+        // 사이트 전체 인기 집계 (근사치 통계이므로 실패해도 관심사 반영/ACK에는 영향 없음)
+        try {
+            trendingService.record(hits);
+        } catch (Exception e) {
+            log.error("⚠️ Trending record failed: {}", e.getMessage());
+        }
+
+        appliedCounter.increment(applied);
+        Long lastTimestamp = records.get(records.size() - 1).getId().getTimestamp();
+        if (lastTimestamp != null) {
+            lagMillis.set(Math.max(0, System.currentTimeMillis() - lastTimestamp));
+        }
+        log.debug("Event Batch Consumed: {} records -> {} users", records.size(), increments.size());
+    }
+
+    // 배치당 한 번의 Lua 호출: 유저별 감쇠 + 가산 + EXPIRE + XACK (원자적)
+    private void applyAndAcknowledge(Map<String, Map<String, Double>> increments, List<String> recordIds) {
+        List<String> keys = new ArrayList<>();
+        keys.add(STREAM_KEY);
+
+        List<String> args = new ArrayList<>();
+        args.add(consumerGroup);
+        args.add(String.valueOf(InterestService.nowSeconds()));
+        args.add(String.valueOf(interestService.decayRate()));
+        args.add(String.valueOf(interestService.gcTtlSeconds()));
+        args.add(String.valueOf(recordIds.size()));
+        args.addAll(recordIds);
+
+        increments.forEach((userId, scores) -> {
+            keys.add(interestService.scoreKey(userId));
+            String keyIndex = String.valueOf(keys.size()); // Lua KEYS는 1부터 시작
+            keys.add(interestService.timestampKey(userId));
+            scores.forEach((category, score) -> {
+                args.add(keyIndex);
+                args.add(category);
+                args.add(String.valueOf(score));
+            });
+        });
+
+        redisTemplate.execute(APPLY_AND_ACK_SCRIPT, keys, args.toArray());
+    }
+
+    // 점수 계산 로직 (Enum에서 점수 꺼내오기, 알 수 없는 타입은 기본값 1.0)
+    private double scoreOf(String typeStr) {
+        try {
+            return EventType.valueOf(typeStr).getScore();
+        } catch (Exception e) {
+            log.warn("알 수 없는 이벤트 타입: {}", typeStr);
+            return 1.0;
+        }
+    }
+
+    private String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
-}
\ No newline at end of file
+}
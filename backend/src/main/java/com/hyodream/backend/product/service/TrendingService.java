@@ -0,0 +1,311 @@
+package com.hyodream.backend.product.service;
+
+import com.hyodream.backend.product.domain.Product;
+import com.hyodream.backend.product.dto.ProductResponseDto;
+import com.hyodream.backend.product.dto.TrendingResponseDto;
+import com.hyodream.backend.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 사이트 전체 실시간 인기(Trending) 카테고리/상품 (슬라이딩 윈도우)
+ * - 분 단위 버킷: trending:{dim}:m:{epochMinute} (ZSet, 해당 분의 조회 수)
+ * - 롤링 윈도우: trending:{dim}:1h / trending:{dim}:24h (ZSet) -> 이벤트 반영 시 버킷과 함께 증가
+ * - 매 분 윈도우를 벗어난 버킷을 윈도우에서 빼는 방식이라 조회는 ZREVRANGE 한 번 (윈도우 크기와 무관)
+ * - 순 방문자 수: 10분 버킷 HyperLogLog(trending:uv:{dim}:{member}:{epoch10Min})
+ *   + 윈도우별 병합 HLL(trending:uv:{dim}:{member}:1h / 24h) -> 이벤트 반영 시 버킷과 함께 PFADD
+ * - HLL은 뺄 수 없으므로 10분 버킷이 바뀔 때 상위 member의 병합 HLL을 윈도우 안 버킷으로 PFMERGE 재구성
+ *   -> 조회는 member당 키 1개 PFCOUNT (윈도우 크기와 무관)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    public static final String DIM_CATEGORY = "category";
+    public static final String DIM_PRODUCT = "product";
+
+    private static final String KEY_PREFIX = "trending:";
+    private static final int UV_BUCKET_MINUTES = 10;
+    // 가장 긴 윈도우(24시간) + 여유분
+    private static final long BUCKET_TTL_SECONDS = Duration.ofHours(26).toSeconds();
+    // 버킷 교체 시 병합 HLL을 재구성할 윈도우 상위 member 수 (API 최대 조회 개수 50 + 순위 진입 여유분)
+    private static final int UV_REBUILD_TOP = 100;
+
+    // 집계 윈도우
+    public enum Window {
+        HOUR("1h", 60),
+        DAY("24h", 1440);
+
+        private final String label;
+        private final int minutes;
+
+        Window(String label, int minutes) {
+            this.label = label;
+            this.minutes = minutes;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Window from(String label) {
+            return Arrays.stream(values())
+                    .filter(w -> w.label.equalsIgnoreCase(label))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("지원하지 않는 집계 기간입니다. (1h, 24h)"));
+        }
+    }
+
+    // KEYS[1] = 윈도우 ZSet, KEYS[2] = 만료 커서 / ARGV[1] = 버킷 키 prefix, ARGV[2] = 현재 분, ARGV[3] = 윈도우(분)
+    // 커서 이후 ~ (현재 분 - 윈도우)까지의 버킷을 윈도우에서 뺌. 커서가 너무 오래됐으면(장애 등) 남은 버킷으로 재구성
+    // (단일 Redis 기준: 버킷 키를 스크립트 안에서 조합)
+    private static final RedisScript<Long> EXPIRE_WINDOW_SCRIPT = RedisScript.of("""
+            local prefix = ARGV[1]
+            local nowMinute = tonumber(ARGV[2])
+            local window = tonumber(ARGV[3])
+            local target = nowMinute - window
+            local cursor = tonumber(redis.call('GET', KEYS[2]) or '-1')
+            if cursor >= target then
+                return 0
+            end
+            if cursor < 0 or target - cursor > window then
+                redis.call('DEL', KEYS[1])
+                local buckets = {}
+                for m = target + 1, nowMinute do
+                    buckets[#buckets + 1] = prefix .. m
+                end
+                redis.call('ZUNIONSTORE', KEYS[1], #buckets, unpack(buckets))
+            else
+                for m = cursor + 1, target do
+                    redis.call('ZUNIONSTORE', KEYS[1], 2, KEYS[1], prefix .. m, 'WEIGHTS', 1, -1)
+                end
+                redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', 0)
+            end
+            redis.call('SET', KEYS[2], target)
+            return target - cursor
+            """, Long.class);
+
+    // KEYS[1] = 윈도우 ZSet, KEYS[2] = 재구성 커서 / ARGV[1] = HLL 키 prefix, ARGV[2] = 현재 10분 버킷,
+    // ARGV[3] = 윈도우 버킷 수, ARGV[4] = 윈도우 라벨, ARGV[5] = 재구성할 상위 member 수, ARGV[6] = TTL(초)
+    // 10분 버킷이 바뀌었으면 상위 member의 병합 HLL을 윈도우 안 버킷들로 다시 만듦 (윈도우를 벗어난 방문자 제거)
+    // 상위권 밖 member는 다음 교체 때 순위에 들면 재구성되므로, 그 사이 최대 10분간 과거 방문자가 섞일 수 있음
+    private static final RedisScript<Long> REBUILD_UV_SCRIPT = RedisScript.of("""
+            local prefix = ARGV[1]
+            local nowBucket = tonumber(ARGV[2])
+            local bucketCount = tonumber(ARGV[3])
+            local cursor = tonumber(redis.call('GET', KEYS[2]) or '-1')
+            if cursor >= nowBucket then
+                return 0
+            end
+            local members = redis.call('ZREVRANGE', KEYS[1], 0, tonumber(ARGV[5]) - 1)
+            for _, member in ipairs(members) do
+                local merged = prefix .. member .. ':' .. ARGV[4]
+                local buckets = {}
+                for b = nowBucket - bucketCount + 1, nowBucket do
+                    buckets[#buckets + 1] = prefix .. member .. ':' .. b
+                end
+                redis.call('DEL', merged)
+                redis.call('PFMERGE', merged, unpack(buckets))
+                redis.call('EXPIRE', merged, ARGV[6])
+            end
+            redis.call('SET', KEYS[2], nowBucket)
+            return #members
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductRepository productRepository;
+
+    // 스트림 소비자가 배치마다 호출 (처리 시각 기준 분 버킷에 반영)
+    public record ViewHit(String userId, String productId, String category) {
+    }
+
+    public void record(List<ViewHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        long nowMinute = currentMinute();
+        long uvBucket = nowMinute / UV_BUCKET_MINUTES;
+
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        // (dim, member) -> 방문자
+        Map<String, Map<String, Set<String>>> viewers = new HashMap<>();
+        for (ViewHit hit : hits) {
+            if (hit.category() != null) {
+                counts.computeIfAbsent(DIM_CATEGORY, k -> new HashMap<>()).merge(hit.category(), 1L, Long::sum);
+                viewers.computeIfAbsent(DIM_CATEGORY, k -> new HashMap<>())
+                        .computeIfAbsent(hit.category(), k -> new HashSet<>()).add(hit.userId());
+            }
+            if (hit.productId() != null) {
+                counts.computeIfAbsent(DIM_PRODUCT, k -> new HashMap<>()).merge(hit.productId(), 1L, Long::sum);
+                viewers.computeIfAbsent(DIM_PRODUCT, k -> new HashMap<>())
+                        .computeIfAbsent(hit.productId(), k -> new HashSet<>()).add(hit.userId());
+            }
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            counts.forEach((dim, members) -> {
+                String bucketKey = bucketPrefix(dim) + nowMinute;
+                members.forEach((member, count) -> {
+                    conn.zIncrBy(bucketKey, count, member);
+                    for (Window window : Window.values()) {
+                        conn.zIncrBy(windowKey(dim, window), count, member);
+                    }
+                });
+                conn.expire(bucketKey, BUCKET_TTL_SECONDS);
+            });
+            viewers.forEach((dim, members) -> members.forEach((member, users) -> {
+                String[] userIds = users.toArray(String[]::new);
+                String bucketKey = uvKey(dim, member, uvBucket);
+                conn.pfAdd(bucketKey, userIds);
+                conn.expire(bucketKey, BUCKET_TTL_SECONDS);
+                for (Window window : Window.values()) {
+                    String mergedKey = uvWindowKey(dim, member, window);
+                    conn.pfAdd(mergedKey, userIds);
+                    conn.expire(mergedKey, uvWindowTtlSeconds(window));
+                }
+            }));
+            return null;
+        });
+    }
+
+    // 10초마다 확인, 분이 바뀌었으면 윈도우를 벗어난 버킷 차감 (커서로 멱등 처리 -> 여러 노드에서 동시에 돌아도 안전)
+    // 10분 버킷이 바뀌었으면 상위 member의 병합 HLL 재구성 (윈도우 차감 후 순위 기준)
+    @Scheduled(fixedDelay = 10000)
+    public void expireBuckets() {
+        long nowMinute = currentMinute();
+        long nowBucket = nowMinute / UV_BUCKET_MINUTES;
+        for (String dim : List.of(DIM_CATEGORY, DIM_PRODUCT)) {
+            for (Window window : Window.values()) {
+                try {
+                    redisTemplate.execute(EXPIRE_WINDOW_SCRIPT,
+                            List.of(windowKey(dim, window), windowKey(dim, window) + ":cursor"),
+                            bucketPrefix(dim), String.valueOf(nowMinute), String.valueOf(window.minutes));
+                    redisTemplate.execute(REBUILD_UV_SCRIPT,
+                            List.of(windowKey(dim, window), windowKey(dim, window) + ":uv-cursor"),
+                            uvPrefix(dim), String.valueOf(nowBucket),
+                            String.valueOf(window.minutes / UV_BUCKET_MINUTES), window.label,
+                            String.valueOf(UV_REBUILD_TOP), String.valueOf(uvWindowTtlSeconds(window)));
+                } catch (Exception e) {
+                    log.error("⚠️ Trending window expiry failed ({} / {}): {}", dim, window.label, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // 윈도우 내 상위 K개 (member, 조회 수)
+    public List<ZSetOperations.TypedTuple<String>> top(String dim, Window window, int k) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(windowKey(dim, window), 0, k - 1);
+        return tuples == null ? List.of() : new ArrayList<>(tuples);
+    }
+
+    // 인기 상품 ID (순위순)
+    public List<Long> topProductIds(Window window, int k) {
+        return top(DIM_PRODUCT, window, k).stream()
+                .map(t -> Long.valueOf(t.getValue()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public TrendingResponseDto getTrending(Window window, int size) {
+        List<ZSetOperations.TypedTuple<String>> categories = top(DIM_CATEGORY, window, size);
+        List<ZSetOperations.TypedTuple<String>> products = top(DIM_PRODUCT, window, size);
+
+        List<Long> categoryViewers = uniqueViewers(DIM_CATEGORY, categories, window);
+        List<Long> productViewers = uniqueViewers(DIM_PRODUCT, products, window);
+
+        List<TrendingResponseDto.TrendingCategory> categoryDtos = new ArrayList<>();
+        for (int i = 0; i < categories.size(); i++) {
+            var t = categories.get(i);
+            categoryDtos.add(new TrendingResponseDto.TrendingCategory(
+                    t.getValue(), scoreOf(t), categoryViewers.get(i)));
+        }
+
+        Map<Long, Product> productMap = productRepository.findAllById(
+                products.stream().map(t -> Long.valueOf(t.getValue())).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<TrendingResponseDto.TrendingProduct> productDtos = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            var t = products.get(i);
+            Product p = productMap.get(Long.valueOf(t.getValue()));
+            if (p == null) {
+                continue; // 삭제된 상품
+            }
+            productDtos.add(new TrendingResponseDto.TrendingProduct(
+                    new ProductResponseDto(p), scoreOf(t), productViewers.get(i)));
+        }
+
+        return new TrendingResponseDto(window.label, categoryDtos, productDtos);
+    }
+
+    // 윈도우 병합 HLL을 PFCOUNT (member별 키 1개, 파이프라인)
+    private List<Long> uniqueViewers(String dim, List<ZSetOperations.TypedTuple<String>> tuples, Window window) {
+        if (tuples.isEmpty()) {
+            return List.of();
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (var t : tuples) {
+                conn.pfCount(uvWindowKey(dim, t.getValue(), window));
+            }
+            return null;
+        });
+        return results.stream().map(r -> r == null ? 0L : ((Number) r).longValue()).toList();
+    }
+
+    private long scoreOf(ZSetOperations.TypedTuple<String> tuple) {
+        return tuple.getScore() == null ? 0 : Math.round(tuple.getScore());
+    }
+
+    private long currentMinute() {
+        return System.currentTimeMillis() / 60000;
+    }
+
+    private String bucketPrefix(String dim) {
+        return KEY_PREFIX + dim + ":m:";
+    }
+
+    private String windowKey(String dim, Window window) {
+        return KEY_PREFIX + dim + ":" + window.label;
+    }
+
+    private String uvPrefix(String dim) {
+        return KEY_PREFIX + "uv:" + dim + ":";
+    }
+
+    private String uvKey(String dim, String member, long bucket) {
+        return uvPrefix(dim) + member + ":" + bucket;
+    }
+
+    private String uvWindowKey(String dim, String member, Window window) {
+        return uvPrefix(dim) + member + ":" + window.label;
+    }
+
+    // 윈도우 + 버킷 1개 (더 이상 조회되지 않으면 자연 만료)
+    private long uvWindowTtlSeconds(Window window) {
+        return Duration.ofMinutes(window.minutes + UV_BUCKET_MINUTES).toSeconds();
+    }
+}
@@ -2,9 +2,13 @@ package com.hyodream.backend.user.repository;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.hyodream.backend.user.domain.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,4 +19,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // 알러지 정보 함께 조회 (N+1 방지)
     @EntityGraph(attributePaths = {"allergies", "allergies.allergy"})
     Optional<User> findByUsername(String username);
+
+    // 아이디 -> 회원 ID만 조회 (장바구니 적재/저장용, 연관 컬렉션 로딩 없음)
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    // 회원 ID -> 아이디만 조회 (결제 워커가 주문 완료 이벤트를 만들 때)
+    @Query("SELECT u.username FROM User u WHERE u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    // 여러 아이디의 회원 ID 일괄 조회 -> [아이디, 회원 ID]
+    @Query("SELECT u.username, u.id FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findIdsByUsernameIn(@Param("usernames") Collection<String> usernames);
 }
\ No newline at end of file
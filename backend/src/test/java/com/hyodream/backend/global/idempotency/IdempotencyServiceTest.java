@@ -0,0 +1,125 @@
+package com.hyodream.backend.global.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 선점 Lua 스크립트까지 확인하기 위해 실제 Redis(컨테이너)에 붙여서 테스트
+@Testcontainers
+class IdempotencyServiceTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private IdempotencyService idempotencyService;
+    private String key;
+
+    record Result(Long orderId, String status) {
+    }
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        idempotencyService = new IdempotencyService(redisTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "inProgressTtlSeconds", 60L);
+        ReflectionTestUtils.setField(idempotencyService, "completedTtlHours", 24L);
+        key = UUID.randomUUID().toString(); // 테스트마다 다른 키 (Redis 초기화 불필요)
+    }
+
+    @Test
+    void replaysStoredResponseWithoutRunningActionAgain() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> request = Map.of("productId", 10, "count", 2);
+
+        Result first = execute(request, () -> new Result((long) calls.incrementAndGet(), "PENDING"));
+        Result replayed = execute(request, () -> new Result((long) calls.incrementAndGet(), "PENDING"));
+
+        assertThat(replayed).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void rejectsSameKeyWithDifferentRequestBody() {
+        AtomicInteger calls = new AtomicInteger();
+        execute(Map.of("productId", 10, "count", 2), () -> new Result((long) calls.incrementAndGet(), "PENDING"));
+
+        assertThatThrownBy(() -> execute(Map.of("productId", 10, "count", 3),
+                () -> new Result((long) calls.incrementAndGet(), "PENDING")))
+                .isNotInstanceOf(IdempotencyInProgressException.class)
+                .hasMessageContaining("다른 요청");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void rejectsRetryWhileFirstRequestIsInProgress() {
+        Map<String, Object> request = Map.of("productId", 10, "count", 2);
+
+        // 첫 요청 처리 도중(응답 저장 전) 같은 키로 재시도 -> 409
+        execute(request, () -> {
+            assertThatThrownBy(() -> execute(request, () -> new Result(2L, "PENDING")))
+                    .isInstanceOf(IdempotencyInProgressException.class);
+            return new Result(1L, "PENDING");
+        });
+
+        assertThat(execute(request, () -> new Result(3L, "PENDING"))).isEqualTo(new Result(1L, "PENDING"));
+    }
+
+    @Test
+    void failedRequestReleasesKeyForRetry() {
+        Map<String, Object> request = Map.of("productId", 10, "count", 2);
+
+        assertThatThrownBy(() -> execute(request, () -> {
+            throw new RuntimeException("재고가 부족합니다.");
+        })).hasMessage("재고가 부족합니다.");
+
+        assertThat(execute(request, () -> new Result(1L, "PENDING"))).isEqualTo(new Result(1L, "PENDING"));
+    }
+
+    @Test
+    void runsActionEveryTimeWithoutKey() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("order", "user", null, null, Result.class,
+                () -> new Result((long) calls.incrementAndGet(), "PENDING"));
+        idempotencyService.execute("order", "user", " ", null, Result.class,
+                () -> new Result((long) calls.incrementAndGet(), "PENDING"));
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private Result execute(Object request, Supplier<Result> action) {
+        return idempotencyService.execute("order", "user", key, request, Result.class, action);
+    }
+}
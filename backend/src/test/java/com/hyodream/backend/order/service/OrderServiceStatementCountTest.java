@@ -0,0 +1,169 @@
+package com.hyodream.backend.order.service;
+
+import com.hyodream.backend.TestcontainersConfiguration;
+import com.hyodream.backend.order.dto.OrderRequestDto;
+import com.hyodream.backend.payment.service.PaymentProcessor;
+import com.hyodream.backend.product.domain.Product;
+import com.hyodream.backend.product.repository.ProductRepository;
+import com.hyodream.backend.user.domain.User;
+import com.hyodream.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 주문 생성 시 DB로 나가는 SQL 수가 주문 상품 수와 관계없이 일정한지 확인
+// DataSource를 감싸 세므로 Hibernate뿐 아니라 JdbcTemplate 배치/네이티브 쿼리도 포함 (배치 실행은 왕복 1회)
+// 주문 1건당 SQL 수 (상품 N개, 한정 재고 없는 상품 기준)
+// - 변경 전: 회원 조회 1 + 상품마다 findById(상품 행, EAGER 컬렉션 2개, 분석 행) 4N + 주문 INSERT 1 + 주문 상품 INSERT N
+//   + 결제 INSERT 1 = 3 + 5N (N=1이면 8, N=10이면 53, 예전 코드 경로를 따라 센 값이라 이 테스트로 측정한 값은 아님)
+// - 변경 후: 회원 조회, 가격/재고 일괄 조회, 주문 INSERT, 주문 상품 배치 INSERT, 결제 INSERT = 5 (N과 무관)
+//   (한정 재고 상품은 상품마다 조건부 재고 차감 UPDATE가 1개씩 추가됨)
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@WithMockUser(username = OrderServiceStatementCountTest.USERNAME)
+class OrderServiceStatementCountTest {
+
+    static final String USERNAME = "statement-count-user";
+
+    private static final long EXPECTED_STATEMENTS = 5;
+
+    // 테스트 스레드에서 실행된 SQL만 셈 (아웃박스 릴레이, 판매량 flush 등 백그라운드 작업 쿼리는 제외)
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 커밋 후 결제 워커가 돌면 다른 스레드지만 테스트 데이터가 바뀌므로 제외
+    @MockitoBean
+    private PaymentProcessor paymentProcessor;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource, DataSource.class) : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (!userRepository.existsByUsername(USERNAME)) {
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setPassword("password");
+            user.setName("테스트");
+            userRepository.save(user);
+        }
+        productIds.clear();
+        for (int i = 0; i < 10; i++) {
+            Product product = new Product();
+            product.setName("쿼리 수 확인 상품 " + i);
+            product.setPrice(1000 + i);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithItemCount() {
+        long single = statementsFor(items(1));
+        long many = statementsFor(items(10));
+
+        assertThat(single).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(many).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    private long statementsFor(List<OrderRequestDto> items) {
+        long[] count = new long[1];
+        COUNTER.set(count);
+        try {
+            orderService.order(items);
+        } finally {
+            COUNTER.remove();
+        }
+        return count[0];
+    }
+
+    private List<OrderRequestDto> items(int count) {
+        List<OrderRequestDto> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderRequestDto dto = new OrderRequestDto();
+            dto.setProductId(productIds.get(i));
+            dto.setCount(1);
+            items.add(dto);
+        }
+        return items;
+    }
+
+    // DataSource -> Connection -> Statement 순으로 감싸고, Statement의 execute* 호출마다 1씩 셈
+    private static Object wrap(Object target, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0]; // Hibernate가 Statement를 Map 키로 씀
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                long[] count = COUNTER.get();
+                if (count != null) {
+                    count[0]++;
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return wrap(connection, Connection.class);
+            }
+            if (result instanceof Statement statement && target instanceof Connection) {
+                Class<?> statementType = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return wrap(statement, statementType);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(OrderServiceStatementCountTest.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
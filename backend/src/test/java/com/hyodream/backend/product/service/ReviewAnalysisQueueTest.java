@@ -0,0 +1,188 @@
+package com.hyodream.backend.product.service;
+
+import com.hyodream.backend.product.service.ReviewAnalysisQueue.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// 워커 1개로 첫 배치(상품 1)를 붙잡아 둔 상태에서 요청을 쌓고, 풀어 준 뒤 다음 배치 순서로 확인
+class ReviewAnalysisQueueTest {
+
+    private final BlockingQueue<List<Long>> batches = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Set<Long>> bypassed = new LinkedBlockingQueue<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReviewAnalysisQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        ProductSyncService productSyncService = mock(ProductSyncService.class);
+        doAnswer(invocation -> {
+            bypassed.add(new HashSet<>(invocation.<Set<Long>>getArgument(1)));
+            batches.add(new ArrayList<>(invocation.<List<Long>>getArgument(0)));
+            release.await();
+            return null;
+        }).when(productSyncService).analyzeProducts(anyList(), anySet());
+
+        queue = new ReviewAnalysisQueue(productSyncService, meterRegistry);
+        ReflectionTestUtils.setField(queue, "workers", 1);
+        ReflectionTestUtils.setField(queue, "queueCapacity", 2);
+        ReflectionTestUtils.setField(queue, "batchSize", 10);
+        ReflectionTestUtils.setField(queue, "batchWindowMs", 0L);
+        queue.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    void coalescesRepeatedRequestsForWaitingProduct() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(2L, Priority.REVIEW);
+        queue.submit(2L, Priority.REVIEW);
+        queue.submit(3L, Priority.REVIEW);
+        assertThat(queue.size()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(2L, 3L);
+        assertThat(jobs("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void viewRequestUpgradesQueuedReanalysis() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(2L, Priority.REVIEW);
+        queue.submit(3L, Priority.REVIEW);
+        queue.submit(3L, Priority.VIEW);
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(3L, 2L);
+        assertThat(jobs("promoted")).isEqualTo(1);
+    }
+
+    @Test
+    void promoteMovesQueuedReanalysisAhead() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(2L, Priority.REVIEW);
+        queue.submit(3L, Priority.REVIEW);
+        queue.promote(3L);
+        queue.promote(4L); // 대기 중이 아니면 새로 등록하지 않음
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(3L, 2L);
+        assertThat(batches.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void requestDuringAnalysisRunsOnceAfterward() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(1L, Priority.REVIEW);
+        queue.submit(1L, Priority.VIEW);
+        assertThat(queue.size()).isZero();
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(1L);
+        assertThat(batches.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void viewEvictsNewestReanalysisWhenFullAndEvictedProductIsRequeuedOnView() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(2L, Priority.REVIEW);
+        queue.submit(3L, Priority.REVIEW);
+        assertThat(queue.submit(4L, Priority.REVIEW)).isFalse(); // 가득 참 -> 거절
+        assertThat(queue.submit(5L, Priority.VIEW)).isTrue(); // 가장 최근 REVIEW(3)를 밀어냄
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(5L, 2L);
+        assertThat(jobs("evicted")).isEqualTo(1);
+        assertThat(jobs("rejected")).isEqualTo(1);
+
+        queue.promote(3L);
+        assertThat(nextBatch()).containsExactly(3L);
+        queue.promote(3L); // 다시 등록된 뒤에는 기록이 지워짐
+        assertThat(batches.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void bypassCacheAppliesOnlyToFlaggedProductAndSurvivesCoalescing() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(2L, Priority.REVIEW);
+        queue.submit(2L, Priority.VIEW, true); // 대기 중인 요청에 합쳐져도 캐시 무시 표시는 유지
+        queue.submit(3L, Priority.REVIEW);
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(2L, 3L);
+        assertThat(bypassed.poll(5, TimeUnit.SECONDS)).containsExactly(2L);
+    }
+
+    @Test
+    void bypassCacheRequestedDuringAnalysisAppliesToRerun() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(1L, Priority.VIEW, true);
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(1L);
+        assertThat(bypassed.poll(5, TimeUnit.SECONDS)).containsExactly(1L);
+    }
+
+    @Test
+    void rejectedRerunIsRequeuedOnViewWithoutCacheBypass() throws InterruptedException {
+        holdWorker();
+
+        queue.submit(1L, Priority.VIEW, true); // 분석이 끝난 뒤 재분석 예약
+        queue.submit(2L, Priority.VIEW);
+        queue.submit(3L, Priority.VIEW); // 큐가 가득 차 재분석 재등록은 거절됨
+
+        release.countDown();
+        assertThat(nextBatch()).containsExactly(2L, 3L);
+        assertThat(bypassed.poll(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(jobs("rejected")).isEqualTo(1);
+
+        queue.promote(1L); // 밀려난 상품처럼 다음 조회 때 다시 등록
+        assertThat(nextBatch()).containsExactly(1L);
+        assertThat(bypassed.poll(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    // 워커가 상품 1 분석에 들어가 release 전까지 멈춰 있게 함
+    private void holdWorker() throws InterruptedException {
+        queue.submit(1L, Priority.VIEW);
+        assertThat(nextBatch()).containsExactly(1L);
+        assertThat(bypassed.poll(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    private List<Long> nextBatch() throws InterruptedException {
+        return batches.poll(5, TimeUnit.SECONDS);
+    }
+
+    private double jobs(String result) {
+        return meterRegistry.get("review.analysis.jobs").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,49 @@
+package com.hyodream.backend.product.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 캐시 키는 DB/Redis 없이 계산되므로 의존성 없이 생성해 확인
+class ReviewSentimentCacheTest {
+
+    private ReviewSentimentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheWithModelVersion("1");
+    }
+
+    @Test
+    void sameKeyForTextsThatNormalizeAlike() {
+        String key = cache.key("배송이 빠르고 좋아요");
+
+        // 한글/공백 외 문자(문장부호, 이모지, 영문, 숫자) 제거, 공백은 하나로, 앞뒤 공백 제거
+        assertThat(cache.key("배송이 빠르고 좋아요!!")).isEqualTo(key);
+        assertThat(cache.key("  배송이   빠르고 좋아요 😀 ")).isEqualTo(key);
+        assertThat(cache.key("배송이 빠르고 good 좋아요 5")).isEqualTo(key);
+    }
+
+    @Test
+    void differentKeyForDifferentHangulText() {
+        assertThat(cache.key("배송이 빠르고 좋아요")).isNotEqualTo(cache.key("배송이 느리고 별로예요"));
+        // 공백 위치도 모델 입력에 포함됨
+        assertThat(cache.key("배송이 빠르고 좋아요")).isNotEqualTo(cache.key("배송이빠르고 좋아요"));
+    }
+
+    @Test
+    void modelVersionSeparatesKeysForSameText() {
+        ReviewSentimentCache nextModel = cacheWithModelVersion("2");
+
+        assertThat(nextModel.key("배송이 빠르고 좋아요")).isNotEqualTo(cache.key("배송이 빠르고 좋아요"));
+        assertThat(nextModel.key("배송이 빠르고 좋아요")).isEqualTo(cacheWithModelVersion("2").key("배송이 빠르고 좋아요"));
+    }
+
+    private ReviewSentimentCache cacheWithModelVersion(String modelVersion) {
+        ReviewSentimentCache cache = new ReviewSentimentCache(null, null, null);
+        ReflectionTestUtils.setField(cache, "modelVersion", modelVersion);
+        return cache;
+    }
+}
@@ -0,0 +1,153 @@
+package com.hyodream.backend.product.service;
+
+import com.hyodream.backend.TestcontainersConfiguration;
+import com.hyodream.backend.order.dto.OrderRequestDto;
+import com.hyodream.backend.order.service.OrderService;
+import com.hyodream.backend.payment.service.PaymentProcessor;
+import com.hyodream.backend.product.domain.Product;
+import com.hyodream.backend.product.repository.ProductRepository;
+import com.hyodream.backend.user.domain.User;
+import com.hyodream.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 한정 수량 상품에 동시 주문이 몰려도 재고만큼만 팔리는지 확인 (실제 MySQL 행 잠금 + Redis Lua 예약)
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class StockServiceConcurrencyTest {
+
+    private static final String USERNAME = "stock-concurrency-user";
+    private static final int STOCK = 10;
+    private static final int ORDERS = 50;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 결제 워커가 돌면 결제 실패 시 재고가 복구될 수 있으므로 제외 (주문 시점 예약만 검증)
+    @MockitoBean
+    private PaymentProcessor paymentProcessor;
+
+    @BeforeEach
+    void setUp() {
+        if (!userRepository.existsByUsername(USERNAME)) {
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setPassword("password");
+            user.setName("테스트");
+            userRepository.save(user);
+        }
+    }
+
+    @Test
+    void sellsExactlyTheLimitedStock() throws Exception {
+        Long productId = limitedProduct("한정 상품");
+
+        int succeeded = orderConcurrently(i -> List.of(item(productId)));
+
+        assertThat(succeeded).isEqualTo(STOCK);
+        assertThat(stockOf(productId)).isZero();
+    }
+
+    @Test
+    void ordersWithSameProductsInDifferentOrderDoNotDeadlock() throws Exception {
+        Long first = limitedProduct("한정 상품 A");
+        Long second = limitedProduct("한정 상품 B");
+
+        // 절반은 A, B 순서로, 절반은 B, A 순서로 주문 (차감 순서가 요청 순서를 따르면 교착 발생)
+        int succeeded = orderConcurrently(i -> i % 2 == 0
+                ? List.of(item(first), item(second))
+                : List.of(item(second), item(first)));
+
+        assertThat(succeeded).isEqualTo(STOCK);
+        assertThat(stockOf(first)).isZero();
+        assertThat(stockOf(second)).isZero();
+    }
+
+    // ORDERS건을 동시에 시작해 성공한 주문 수 반환 (재고 부족 등 실패는 예외로 확인)
+    private int orderConcurrently(IntFunction<List<OrderRequestDto>> itemsFor) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < ORDERS; i++) {
+                List<OrderRequestDto> items = itemsFor.apply(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(USERNAME, null, List.of()));
+                    try {
+                        orderService.order(items);
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (e.getMessage() != null && e.getMessage().startsWith("재고가 부족합니다.")) {
+                            soldOut.incrementAndGet();
+                        } else {
+                            throw e; // 교착/기타 오류는 테스트 실패로
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(succeeded.get() + soldOut.get()).isEqualTo(ORDERS);
+        return succeeded.get();
+    }
+
+    private Long limitedProduct(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(1000);
+        product.setStockQuantity(STOCK);
+        return productRepository.save(product).getId();
+    }
+
+    private OrderRequestDto item(Long productId) {
+        OrderRequestDto dto = new OrderRequestDto();
+        dto.setProductId(productId);
+        dto.setCount(1);
+        return dto;
+    }
+
+    private Integer stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}